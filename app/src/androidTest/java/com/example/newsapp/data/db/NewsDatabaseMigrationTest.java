@@ -0,0 +1,198 @@
+package com.example.newsapp.data.db;
+
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.newsapp.data.models.Article;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Upgrades databases created from the exported schemas and checks that cached
+ * and bookmarked articles survive, the feed queries use the new indexes and
+ * the full-text index follows the articles table.
+ */
+@RunWith(AndroidJUnit4.class)
+public class NewsDatabaseMigrationTest {
+    private static final String TEST_DB = "migration-test";
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+        InstrumentationRegistry.getInstrumentation(), NewsDatabase.class);
+
+    @Test
+    public void migrate4To5KeepsArticles() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 4);
+        insertArticle(db, "https://example.com/a", "technology", 1, 1);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 5, true, NewsDatabase.MIGRATION_4_5);
+        try (Cursor cursor = db.query("SELECT title, isBookmarked, publishedAt FROM articles")) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals("Title", cursor.getString(0));
+            assertEquals(1, cursor.getInt(1));
+            assertTrue(cursor.isNull(2));
+        }
+    }
+
+    @Test
+    public void migrate5To6IndexesFeedQueries() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 5);
+        insertArticle(db, "https://example.com/a", "technology", 0, 0);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 6, true, NewsDatabase.MIGRATION_5_6);
+        assertUsesIndex(db, "SELECT * FROM articles WHERE category = 'technology' AND isFeatured = 0 "
+            + "ORDER BY publishedAt DESC, timestamp DESC",
+            "index_articles_category_isFeatured_publishedAt_timestamp");
+        assertUsesIndex(db, "SELECT * FROM articles WHERE isBookmarked = 1 ORDER BY timestamp DESC",
+            "index_articles_isBookmarked_timestamp");
+        assertUsesIndex(db, "SELECT * FROM articles WHERE isDownloadedForOffline = 1 ORDER BY timestamp DESC",
+            "index_articles_isDownloadedForOffline_timestamp");
+    }
+
+    @Test
+    public void migrate6To7BackfillsPublishedAtForKeysetPaging() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 6);
+        insertArticle(db, "https://example.com/a", "technology", 0, 0);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 7, true, NewsDatabase.MIGRATION_6_7);
+        try (Cursor cursor = db.query("SELECT publishedAt FROM articles")) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals("1970-01-01T00:00:01Z", cursor.getString(0));
+        }
+        assertUsesIndex(db, "SELECT * FROM articles WHERE category = 'technology' AND isFeatured = 0 "
+            + "AND publishedAt <= 'z' AND (publishedAt < 'z' OR timestamp < 0 OR (timestamp = 0 AND url < 'z')) "
+            + "ORDER BY publishedAt DESC, timestamp DESC, url DESC LIMIT 5",
+            "index_articles_category_isFeatured_publishedAt_timestamp_url");
+    }
+
+    @Test
+    public void migrate7To8IndexesCachedArticlesForSearch() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 7);
+        insertArticle(db, "https://example.com/a", "technology", 0, 1);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 8, true, NewsDatabase.MIGRATION_7_8);
+        assertEquals(1, countMatches(db, "titl*"));
+
+        // The triggers follow later writes
+        db.execSQL("UPDATE articles SET title = 'Climate talks' WHERE url = 'https://example.com/a'");
+        assertEquals(0, countMatches(db, "titl*"));
+        assertEquals(1, countMatches(db, "climat*"));
+        db.execSQL("DELETE FROM articles");
+        assertEquals(0, countMatches(db, "climat*"));
+    }
+
+    @Test
+    public void migrate8To9SplitsTextFeedsAndState() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 8);
+        insertArticle(db, "https://example.com/a", "technology", 1, 1);
+        insertArticle(db, "https://example.com/b", "sports", 0, 0);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 9, true, NewsDatabase.MIGRATION_8_9);
+        try (Cursor cursor = db.query("SELECT category, isFeatured FROM feed_entries WHERE url = ?",
+                new Object[] {"https://example.com/a"})) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals("technology", cursor.getString(0));
+            assertEquals(1, cursor.getInt(1));
+        }
+        try (Cursor cursor = db.query("SELECT url, isBookmarked FROM article_state")) {
+            assertEquals(1, cursor.getCount());
+            assertTrue(cursor.moveToFirst());
+            assertEquals("https://example.com/a", cursor.getString(0));
+            assertEquals(1, cursor.getInt(1));
+        }
+        // The full-text index follows the rebuilt articles table
+        assertEquals(2, countMatches(db, "titl*"));
+        db.execSQL("UPDATE articles SET title = 'Climate talks' WHERE url = 'https://example.com/a'");
+        assertEquals(1, countMatches(db, "climat*"));
+        assertUsesIndex(db, "SELECT * FROM feed_entries WHERE category = 'technology' AND isFeatured = 0 "
+            + "ORDER BY publishedAt DESC, timestamp DESC, url DESC LIMIT 5",
+            "index_feed_entries_category_isFeatured_publishedAt_timestamp_url");
+    }
+
+    @Test
+    public void migrateAllOpensWithRoom() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 4);
+        insertArticle(db, "https://example.com/a", "technology", 1, 1);
+        db.close();
+
+        NewsDatabase database = Room.databaseBuilder(
+                InstrumentationRegistry.getInstrumentation().getTargetContext(),
+                NewsDatabase.class,
+                TEST_DB)
+            .addMigrations(NewsDatabase.ALL_MIGRATIONS)
+            .build();
+        helper.closeWhenFinished(database);
+
+        List<Article> bookmarked = database.articleDao().getBookmarkedArticles();
+        assertEquals(1, bookmarked.size());
+        assertEquals("https://example.com/a", bookmarked.get(0).getUrl());
+        assertEquals(1, database.articleDao().getArticlesByCategoryAndType("technology", true).size());
+        assertEquals(1, database.articleDao().searchArticles("titl*").size());
+
+        // Refreshing the feed replaces its entries and keeps the bookmark
+        Article refreshed = new Article();
+        refreshed.setUrl("https://example.com/a");
+        refreshed.setTitle("Title");
+        refreshed.setCategory("technology");
+        refreshed.setFeatured(true);
+        refreshed.setPublishedAt("2024-01-01T00:00:00Z");
+        refreshed.setTimestamp(2000);
+        database.articleDao().updateCategoryArticles("technology", Collections.singletonList(refreshed), true);
+        assertTrue(database.articleDao().isArticleBookmarked("https://example.com/a"));
+        assertEquals(2000, database.articleDao().getArticlesByCategoryAndType("technology", true)
+            .get(0).getTimestamp());
+        assertEquals("Title", database.articleDao().getArticle("https://example.com/a").getTitle());
+
+        // Fetched again by an incremental refresh: not new, but no longer due to expire
+        refreshed.setTimestamp(3000);
+        assertEquals(0, database.articleDao().mergeCategoryArticles("technology",
+            Collections.singletonList(refreshed), 1, 50));
+        assertEquals(3000, database.articleDao().getArticlesByCategoryAndType("technology", true)
+            .get(0).getTimestamp());
+    }
+
+    private static void insertArticle(SupportSQLiteDatabase db, String url, String category,
+                                      int isFeatured, int isBookmarked) {
+        db.execSQL("INSERT INTO articles (url, title, category, isFeatured, timestamp, isBookmarked, "
+                + "isDownloadedForOffline) VALUES (?, 'Title', ?, ?, 1000, ?, 0)",
+            new Object[] {url, category, isFeatured, isBookmarked});
+    }
+
+    private static int countMatches(SupportSQLiteDatabase db, String match) {
+        try (Cursor cursor = db.query("SELECT COUNT(*) FROM articles JOIN articles_fts "
+                + "ON articles.rowid = articles_fts.rowid WHERE articles_fts MATCH ?", new Object[] {match})) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getInt(0);
+        }
+    }
+
+    private static void assertUsesIndex(SupportSQLiteDatabase db, String query, String index) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + query)) {
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(cursor.getColumnIndexOrThrow("detail"))).append('\n');
+            }
+        }
+        assertTrue(plan.toString(), plan.toString().contains(index));
+        // The index order serves the ORDER BY, no separate sort
+        assertFalse(plan.toString(), plan.toString().contains("TEMP B-TREE"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.newsapp.api;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Process-wide ledger and scheduler for GNews API calls.
+ * Daily usage is persisted so it survives restarts and is shared by every
+ * repository instance. Outgoing calls are gated by a token bucket, a per-minute
+ * window and the daily limit, and a 429 puts the API into jittered exponential backoff.
+ */
+public class ApiQuotaManager {
+    private static final String TAG = "ApiQuotaManager";
+    private static final String PREFS_NAME = "gnews_quota";
+    private static final String KEY_DAY = "day";
+    private static final String KEY_DAY_COUNT = "day_count";
+    private static final String KEY_BACKOFF_UNTIL = "backoff_until";
+
+    private static final int DAILY_LIMIT = 100;          // GNews free plan
+    private static final int PER_MINUTE_LIMIT = 10;
+    private static final int LOW_BUDGET_THRESHOLD = 15;  // Remaining daily calls at which we prefer cached data
+    private static final int BUCKET_CAPACITY = 4;        // Short bursts, e.g. featured + regular on a category tap
+    private static final long REFILL_INTERVAL_MS = 6000; // One token every 6 seconds
+    private static final long BASE_BACKOFF_MS = 5000;
+    private static final long MAX_BACKOFF_MS = 10 * 60 * 1000;
+
+    private static ApiQuotaManager instance;
+
+    private final SharedPreferences prefs;
+    private final Random random = new Random();
+
+    private String day;
+    private int dayCount;
+    private long minuteWindowStart;
+    private int minuteCount;
+    private double tokens = BUCKET_CAPACITY;
+    private long lastRefill = SystemClock.elapsedRealtime();
+    private int backoffAttempts;
+    private long backoffUntil; // Wall clock, persisted
+
+    private ApiQuotaManager(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        day = prefs.getString(KEY_DAY, today());
+        dayCount = prefs.getInt(KEY_DAY_COUNT, 0);
+        backoffUntil = prefs.getLong(KEY_BACKOFF_UNTIL, 0);
+    }
+
+    public static synchronized ApiQuotaManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new ApiQuotaManager(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Try to take permission for one network call. Returns false when the call
+     * should not be made right now; the caller should fall back to cached data.
+     */
+    public synchronized boolean tryAcquire() {
+        rollDay();
+        long now = SystemClock.elapsedRealtime();
+
+        if (System.currentTimeMillis() < backoffUntil) {
+            Log.d(TAG, "Denied: backing off after rate limit");
+            return false;
+        }
+        if (dayCount >= DAILY_LIMIT) {
+            Log.d(TAG, "Denied: daily limit of " + DAILY_LIMIT + " reached");
+            return false;
+        }
+        if (now - minuteWindowStart >= 60_000) {
+            minuteWindowStart = now;
+            minuteCount = 0;
+        }
+        if (minuteCount >= PER_MINUTE_LIMIT) {
+            Log.d(TAG, "Denied: per-minute limit of " + PER_MINUTE_LIMIT + " reached");
+            return false;
+        }
+
+        tokens = Math.min(BUCKET_CAPACITY, tokens + (now - lastRefill) / (double) REFILL_INTERVAL_MS);
+        lastRefill = now;
+        if (tokens < 1) {
+            Log.d(TAG, "Denied: token bucket empty");
+            return false;
+        }
+
+        tokens -= 1;
+        minuteCount++;
+        dayCount++;
+        prefs.edit().putString(KEY_DAY, day).putInt(KEY_DAY_COUNT, dayCount).apply();
+        return true;
+    }
+
+    /**
+     * Record an HTTP 429. Backs off exponentially with jitter, or for the
+     * server's Retry-After if that is longer.
+     */
+    public synchronized void onRateLimited(long retryAfterSeconds) {
+        backoffAttempts++;
+        long exponential = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << Math.min(backoffAttempts - 1, 16));
+        // Full jitter in the upper half so concurrent clients don't retry in lockstep
+        long delay = exponential / 2 + (long) (random.nextDouble() * (exponential / 2));
+        delay = Math.max(delay, retryAfterSeconds * 1000);
+
+        backoffUntil = System.currentTimeMillis() + delay;
+        tokens = 0;
+        prefs.edit().putLong(KEY_BACKOFF_UNTIL, backoffUntil).apply();
+        Log.w(TAG, "Rate limited by API, backing off for " + delay + " ms (attempt " + backoffAttempts + ")");
+    }
+
+    public synchronized void onSuccess() {
+        backoffAttempts = 0;
+    }
+
+    /**
+     * True when the remaining daily budget is low or the API is backing off,
+     * so callers that already have cached data should use it instead.
+     */
+    public synchronized boolean isBudgetLow() {
+        rollDay();
+        return DAILY_LIMIT - dayCount <= LOW_BUDGET_THRESHOLD
+                || System.currentTimeMillis() < backoffUntil;
+    }
+
+    public synchronized int getRemainingDailyCalls() {
+        rollDay();
+        return Math.max(0, DAILY_LIMIT - dayCount);
+    }
+
+    public synchronized int getCallsToday() {
+        rollDay();
+        return dayCount;
+    }
+
+    private void rollDay() {
+        String current = today();
+        if (!current.equals(day)) {
+            day = current;
+            dayCount = 0;
+            prefs.edit().putString(KEY_DAY, day).putInt(KEY_DAY_COUNT, 0).apply();
+        }
+    }
+
+    private static String today() {
+        // GNews resets quotas at midnight UTC
+        SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(new Date());
+    }
+}
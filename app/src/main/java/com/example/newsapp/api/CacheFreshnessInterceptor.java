@@ -0,0 +1,43 @@
+package com.example.newsapp.api;
+
+import java.io.IOException;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that gives GNews responses a freshness lifetime when the
+ * server does not send one, so the disk cache can actually reuse them.
+ * Responses that already carry max-age, s-maxage, Expires or no-store are left alone.
+ */
+public class CacheFreshnessInterceptor implements Interceptor {
+    private static final int HEADLINES_MAX_AGE_SECONDS = 10 * 60; // 10 minutes
+    private static final int SEARCH_MAX_AGE_SECONDS = 30 * 60;    // 30 minutes
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        if (!"GET".equals(request.method()) || !response.isSuccessful()) {
+            return response;
+        }
+
+        CacheControl cacheControl = response.cacheControl();
+        if (cacheControl.noStore() || cacheControl.maxAgeSeconds() != -1
+                || cacheControl.sMaxAgeSeconds() != -1 || response.header("Expires") != null) {
+            return response;
+        }
+
+        int maxAge = request.url().encodedPath().endsWith("/search")
+                ? SEARCH_MAX_AGE_SECONDS
+                : HEADLINES_MAX_AGE_SECONDS;
+
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "public, max-age=" + maxAge)
+                .build();
+    }
+}
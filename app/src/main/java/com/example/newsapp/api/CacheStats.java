@@ -0,0 +1,48 @@
+package com.example.newsapp.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters for the GNews HTTP response cache
+ */
+public class CacheStats {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordRevalidation() {
+        revalidations.incrementAndGet();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Number of stale responses that were served while a background refresh was started
+     */
+    public long getRevalidationCount() {
+        return revalidations.get();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hits=" + hits.get() +
+                ", misses=" + misses.get() +
+                ", revalidations=" + revalidations.get() +
+                '}';
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.newsapp.api;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Network metrics for one endpoint (a GNews path such as "top-headlines", or an
+ * article/image host). Updated by {@link TelemetryEventListener}.
+ */
+public class EndpointMetrics {
+    private final String endpoint;
+
+    final LatencyHistogram dns = new LatencyHistogram();
+    final LatencyHistogram connect = new LatencyHistogram();
+    final LatencyHistogram tls = new LatencyHistogram();
+    final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+    final LatencyHistogram total = new LatencyHistogram();
+    final LatencyHistogram network = new LatencyHistogram();
+
+    final AtomicLong calls = new AtomicLong();
+    final AtomicLong failures = new AtomicLong();
+    final AtomicLong bodyBytes = new AtomicLong();
+    final AtomicLong cacheHits = new AtomicLong();
+    final AtomicLong cacheConditionalHits = new AtomicLong();
+    final AtomicLong cacheMisses = new AtomicLong();
+    private final Map<String, AtomicLong> errorClasses = new ConcurrentHashMap<>();
+
+    EndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void recordError(String errorClass) {
+        failures.incrementAndGet();
+        AtomicLong count = errorClasses.get(errorClass);
+        if (count == null) {
+            errorClasses.putIfAbsent(errorClass, new AtomicLong());
+            count = errorClasses.get(errorClass);
+        }
+        count.incrementAndGet();
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Total call duration, from call start to the end of the response body
+     */
+    public LatencyHistogram getTotalLatency() {
+        return total;
+    }
+
+    /**
+     * Call duration of calls that went to the network, cache hits excluded
+     */
+    public LatencyHistogram getNetworkLatency() {
+        return network;
+    }
+
+    public LatencyHistogram getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    void reset() {
+        dns.reset();
+        connect.reset();
+        tls.reset();
+        timeToFirstByte.reset();
+        total.reset();
+        network.reset();
+        calls.set(0);
+        failures.set(0);
+        bodyBytes.set(0);
+        cacheHits.set(0);
+        cacheConditionalHits.set(0);
+        cacheMisses.set(0);
+        errorClasses.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[").append(endpoint).append("]\n")
+            .append("  calls=").append(calls.get())
+            .append(" failures=").append(failures.get())
+            .append(" bodyBytes=").append(bodyBytes.get()).append('\n')
+            .append("  cache: hits=").append(cacheHits.get())
+            .append(" conditional=").append(cacheConditionalHits.get())
+            .append(" misses=").append(cacheMisses.get()).append('\n')
+            .append("  dns      ").append(dns).append('\n')
+            .append("  connect  ").append(connect).append('\n')
+            .append("  tls      ").append(tls).append('\n')
+            .append("  ttfb     ").append(timeToFirstByte).append('\n')
+            .append("  total    ").append(total).append('\n')
+            .append("  network  ").append(network).append('\n');
+        if (!errorClasses.isEmpty()) {
+            sb.append("  errors:");
+            for (Map.Entry<String, AtomicLong> entry : new TreeMap<>(errorClasses).entrySet()) {
+                sb.append(' ').append(entry.getKey()).append('=').append(entry.getValue().get());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.newsapp.api;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * Recorded HTTP responses on disk, one file per request key. The key is the same
+ * normalized form the {@link RequestCoalescer} uses, so the API key and parameter
+ * order do not matter when replaying.
+ */
+public class FixtureStore {
+    private static final String TAG = "FixtureStore";
+    private static final int FORMAT_VERSION = 1;
+    private static final String EXTENSION = ".fixture";
+
+    private final File directory;
+
+    public static class Fixture {
+        public final int code;
+        public final String contentType;
+        public final byte[] body;
+
+        public Fixture(int code, String contentType, byte[] body) {
+            this.code = code;
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+    public FixtureStore(File directory) {
+        this.directory = directory;
+    }
+
+    static String keyFor(String method, HttpUrl url) {
+        return RequestCoalescer.keyFor(new Request.Builder()
+            .url(url)
+            .method(method, null)
+            .build());
+    }
+
+    public synchronized void save(String key, Fixture fixture) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            Log.e(TAG, "Failed to create fixture directory");
+            return;
+        }
+        File file = fileFor(key);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(key);
+            out.writeInt(fixture.code);
+            out.writeUTF(fixture.contentType != null ? fixture.contentType : "");
+            out.writeInt(fixture.body.length);
+            out.write(fixture.body);
+            Log.d(TAG, "Recorded " + key + " (" + fixture.body.length + " bytes)");
+        } catch (IOException e) {
+            Log.e(TAG, "Error recording fixture for " + key, e);
+            file.delete();
+        }
+    }
+
+    /**
+     * @return the recorded response, or null if the request was never recorded
+     */
+    public synchronized Fixture load(String key) {
+        File file = fileFor(key);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !key.equals(in.readUTF())) {
+                return null;
+            }
+            int code = in.readInt();
+            String contentType = in.readUTF();
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new Fixture(code, contentType.isEmpty() ? null : contentType, body);
+        } catch (IOException e) {
+            Log.e(TAG, "Error reading fixture for " + key, e);
+            return null;
+        }
+    }
+
+    public synchronized int count() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        return files != null ? files.length : 0;
+    }
+
+    public synchronized void clear() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    private File fileFor(String key) {
+        return new File(directory, sha1(key) + EXTENSION);
+    }
+
+    private static String sha1(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.example.newsapp.api;
 
 import com.example.newsapp.data.models.NewsResponse;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 public interface GNewsApiService {
     @GET("search")
@@ -15,6 +17,31 @@ public interface GNewsApiService {
         @Query("apikey") String apiKey
     );
     
+    /**
+     * Search restricted to articles published at or after {@code from}
+     * (ISO-8601, e.g. 2024-05-01T08:00:00Z)
+     */
+    @GET("search")
+    Call<NewsResponse> searchNewsSince(
+        @Query("q") String query,
+        @Query("max") int max,
+        @Query("from") String from,
+        @Query("apikey") String apiKey
+    );
+    
+    /**
+     * Same as searchNews, but hands back the raw body unread so it can be parsed
+     * while it downloads
+     */
+    @Streaming
+    @GET("search")
+    Call<ResponseBody> searchNewsStream(
+        @Query("q") String query,
+        @Query("max") int max,
+        @Query("offset") int offset,
+        @Query("apikey") String apiKey
+    );
+    
     @GET("top-headlines")
     Call<NewsResponse> getTopHeadlines(
         @Query("topic") String topic,
@@ -24,4 +51,18 @@ public interface GNewsApiService {
         @Query("page") int page,
         @Query("apikey") String apiKey
     );
-}
\ No newline at end of file
+    
+    /**
+     * Top headlines restricted to articles published at or after {@code from}
+     * (ISO-8601, e.g. 2024-05-01T08:00:00Z)
+     */
+    @GET("top-headlines")
+    Call<NewsResponse> getTopHeadlinesSince(
+        @Query("topic") String topic,
+        @Query("lang") String language,
+        @Query("country") String country,
+        @Query("max") int max,
+        @Query("from") String from,
+        @Query("apikey") String apiKey
+    );
+}
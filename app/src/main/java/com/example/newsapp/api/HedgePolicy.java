@@ -0,0 +1,103 @@
+package com.example.newsapp.api;
+
+import android.util.Log;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides when a slow primary API call may be hedged with a fallback call.
+ * The hedge delay follows a latency percentile of the primary endpoint from
+ * {@link NetworkTelemetry}, and a token budget keeps hedges to roughly a tenth
+ * of primary calls so the daily quota is not doubled.
+ */
+public class HedgePolicy {
+    private static final String TAG = "HedgePolicy";
+    private static final long DEFAULT_DELAY_MS = 2000;
+    private static final long MIN_DELAY_MS = 750;
+    private static final long MAX_DELAY_MS = 5000;
+    private static final long MIN_SAMPLES = 20; // Below this the percentile is noise, use the default
+    private static final double HEDGE_RATIO = 0.1; // Budget earned per primary call
+    private static final double MAX_TOKENS = 2;
+
+    private static HedgePolicy instance;
+
+    private final NetworkTelemetry telemetry;
+    private volatile boolean enabled = true;
+    private volatile double percentile = 90;
+    private double tokens = 1;
+
+    private final AtomicLong primaries = new AtomicLong();
+    private final AtomicLong hedgesFired = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+
+    HedgePolicy(NetworkTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    public static synchronized HedgePolicy getInstance() {
+        if (instance == null) {
+            instance = new HedgePolicy(NetworkTelemetry.getInstance());
+        }
+        return instance;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Latency percentile (0-100) of the primary endpoint after which a hedge fires
+     */
+    public void setPercentile(double percentile) {
+        this.percentile = Math.max(50, Math.min(99.9, percentile));
+    }
+
+    /**
+     * How long to wait for the primary endpoint before hedging
+     */
+    public long getHedgeDelayMillis(String endpoint) {
+        LatencyHistogram latency = telemetry.getEndpointMetrics(endpoint).getNetworkLatency();
+        if (latency.getCount() < MIN_SAMPLES) {
+            return DEFAULT_DELAY_MS;
+        }
+        long bound = latency.getPercentile(percentile);
+        return Math.max(MIN_DELAY_MS, Math.min(MAX_DELAY_MS, bound));
+    }
+
+    /**
+     * Record a primary call; every call earns a fraction of a hedge
+     */
+    public synchronized void onPrimaryCall() {
+        primaries.incrementAndGet();
+        tokens = Math.min(MAX_TOKENS, tokens + HEDGE_RATIO);
+    }
+
+    /**
+     * Take a hedge from the budget
+     * @return false if hedging is disabled or the budget is spent
+     */
+    public synchronized boolean tryAcquireHedge() {
+        if (!enabled || tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        hedgesFired.incrementAndGet();
+        return true;
+    }
+
+    public void onHedgeWon() {
+        hedgesWon.incrementAndGet();
+        Log.d(TAG, "Hedge answered first (" + hedgesWon.get() + "/" + hedgesFired.get() + ")");
+    }
+
+    @Override
+    public String toString() {
+        return "HedgePolicy{enabled=" + enabled + ", percentile=" + percentile
+            + ", primaries=" + primaries.get() + ", hedges=" + hedgesFired.get()
+            + ", hedgeWins=" + hedgesWon.get() + "}";
+    }
+}
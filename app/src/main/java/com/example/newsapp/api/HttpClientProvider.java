@@ -0,0 +1,56 @@
+package com.example.newsapp.api;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Owns the process-wide OkHttp stack. API calls, offline page downloads and
+ * WebView image fetches all share its connection pool and dispatcher, so a
+ * connection (and its TLS session) opened by one path is reused by the others.
+ * Callers that need extra interceptors or a cache should derive a client with
+ * {@code getSharedClient().newBuilder()}, which keeps the pool and dispatcher.
+ */
+public final class HttpClientProvider {
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final int MAX_REQUESTS = 32;
+    private static final int MAX_REQUESTS_PER_HOST = 6;
+    private static final int TIMEOUT_SECONDS = 30;
+
+    private static OkHttpClient sharedClient;
+
+    private HttpClientProvider() {
+    }
+
+    public static synchronized OkHttpClient getSharedClient() {
+        if (sharedClient == null) {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(MAX_REQUESTS);
+            // Keeps a burst of image fetches from starving API calls to another host
+            dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+            sharedClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                // HTTP/2 lets concurrent requests to one host share a single connection
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                // Per-endpoint DNS, connect, TLS and first-byte timings for every call
+                .eventListenerFactory(NetworkTelemetry.getInstance().eventListenerFactory())
+                // Debug record/replay, a no-op unless enabled on the network debug screen
+                .addInterceptor(NetworkReplay.interceptor())
+                .followRedirects(true)
+                .followSslRedirects(true)
+                .retryOnConnectionFailure(true)
+                .connectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .writeTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .build();
+        }
+        return sharedClient;
+    }
+}
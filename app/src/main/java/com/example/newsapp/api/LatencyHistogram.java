@@ -0,0 +1,84 @@
+package com.example.newsapp.api;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe latency histogram with fixed millisecond buckets. Recording is a
+ * single atomic increment, so it is cheap enough to call from OkHttp event callbacks.
+ */
+public class LatencyHistogram {
+    /** Upper bounds of the buckets in milliseconds; a last overflow bucket catches the rest */
+    private static final long[] BUCKET_BOUNDS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+
+    public void record(long millis) {
+        counts.incrementAndGet(bucketFor(millis));
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Upper bound of the bucket that holds the given percentile (0-100), or -1 when
+     * nothing has been recorded. Values in the overflow bucket report Long.MAX_VALUE.
+     */
+    public long getPercentile(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank && seen > 0) {
+                return i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : Long.MAX_VALUE;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    private static int bucketFor(long millis) {
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            if (millis <= BUCKET_BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_MS.length;
+    }
+
+    @Override
+    public String toString() {
+        long total = getCount();
+        if (total == 0) {
+            return "n=0";
+        }
+        StringBuilder sb = new StringBuilder(String.format(Locale.US, "n=%d p50<=%s p90<=%s p99<=%s |",
+            total, formatBound(getPercentile(50)), formatBound(getPercentile(90)), formatBound(getPercentile(99))));
+        for (int i = 0; i < counts.length(); i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                String label = i < BUCKET_BOUNDS_MS.length ? "<=" + BUCKET_BOUNDS_MS[i] : ">" + BUCKET_BOUNDS_MS[BUCKET_BOUNDS_MS.length - 1];
+                sb.append(' ').append(label).append(':').append(count);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String formatBound(long bound) {
+        return bound == Long.MAX_VALUE ? "inf" : bound + "ms";
+    }
+}
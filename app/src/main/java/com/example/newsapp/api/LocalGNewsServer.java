@@ -0,0 +1,212 @@
+package com.example.newsapp.api;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.HttpUrl;
+
+/**
+ * Minimal HTTP/1.1 stand-in for GNews and article hosts that serves recorded
+ * fixtures on the loopback interface. Requests arrive as
+ * {@code http://127.0.0.1:<port>/<original host>/<original path>?<query>}, see
+ * {@link NetworkReplay#toReplayUrl}. Latency and errors can be injected so slow or
+ * flaky networks are reproducible.
+ */
+public class LocalGNewsServer {
+    private static final String TAG = "LocalGNewsServer";
+    private static final int MAX_HEADER_BYTES = 16 * 1024;
+
+    private final FixtureStore fixtures;
+    private final ExecutorService connections = Executors.newCachedThreadPool();
+    private final Random random = new Random();
+    private ServerSocket serverSocket;
+
+    private volatile long latencyMillis;
+    private volatile double errorRate;
+
+    public LocalGNewsServer(FixtureStore fixtures) {
+        this.fixtures = fixtures;
+    }
+
+    public synchronized void start() throws IOException {
+        if (serverSocket != null) {
+            return;
+        }
+        serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+        ServerSocket socket = serverSocket;
+        connections.execute(() -> acceptLoop(socket));
+        Log.d(TAG, "Serving fixtures on port " + socket.getLocalPort());
+    }
+
+    public synchronized void stop() {
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                Log.e(TAG, "Error closing server socket", e);
+            }
+            serverSocket = null;
+        }
+    }
+
+    public synchronized int getPort() {
+        return serverSocket != null ? serverSocket.getLocalPort() : -1;
+    }
+
+    /**
+     * Delay added before every response; a random jitter of up to a quarter is added on top
+     */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = Math.max(0, latencyMillis);
+    }
+
+    /**
+     * Share of requests (0-1) answered with a 503 or a dropped connection
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = Math.max(0, Math.min(1, errorRate));
+    }
+
+    private void acceptLoop(ServerSocket socket) {
+        while (!socket.isClosed()) {
+            try {
+                Socket client = socket.accept();
+                connections.execute(() -> serve(client));
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    Log.e(TAG, "Error accepting connection", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (Socket socket = client) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            // Keep-alive: serve requests on this connection until the client closes it
+            String head;
+            while ((head = readHead(in)) != null) {
+                if (!respond(head, out)) {
+                    return;
+                }
+            }
+        } catch (SocketException e) {
+            // Client went away
+        } catch (IOException e) {
+            Log.e(TAG, "Error serving replay request", e);
+        }
+    }
+
+    /**
+     * @return false if the connection should be dropped
+     */
+    private boolean respond(String head, OutputStream out) throws IOException {
+        String[] requestLine = head.substring(0, head.indexOf("\r\n")).split(" ");
+        String method = requestLine[0];
+        HttpUrl original = HttpUrl.parse("https:/" + requestLine[1]);
+
+        long delay = latencyMillis;
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay + (long) (random.nextDouble() * delay / 4));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            if (random.nextBoolean()) {
+                Log.d(TAG, "Injected dropped connection for " + requestLine[1]);
+                return false;
+            }
+            Log.d(TAG, "Injected 503 for " + requestLine[1]);
+            writeResponse(out, method, 503, "text/plain", "Injected failure".getBytes(StandardCharsets.UTF_8));
+            return true;
+        }
+
+        FixtureStore.Fixture fixture = original != null
+            ? fixtures.load(FixtureStore.keyFor("HEAD".equals(method) ? "GET" : method, original))
+            : null;
+        if (fixture == null) {
+            Log.d(TAG, "No fixture for " + requestLine[1]);
+            writeResponse(out, method, 404, "text/plain", "No fixture recorded".getBytes(StandardCharsets.UTF_8));
+        } else {
+            writeResponse(out, method, fixture.code, fixture.contentType, fixture.body);
+        }
+        return true;
+    }
+
+    private static void writeResponse(OutputStream out, String method, int code, String contentType,
+                                      byte[] body) throws IOException {
+        StringBuilder head = new StringBuilder()
+            .append("HTTP/1.1 ").append(code).append(' ').append(reason(code)).append("\r\n")
+            .append("Content-Length: ").append(body.length).append("\r\n")
+            .append("Connection: keep-alive\r\n");
+        if (contentType != null) {
+            head.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        head.append("\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (!"HEAD".equals(method)) {
+            out.write(body);
+        }
+        out.flush();
+    }
+
+    private static String reason(int code) {
+        switch (code) {
+            case 200:
+                return "OK";
+            case 404:
+                return "Not Found";
+            case 503:
+                return "Service Unavailable";
+            default:
+                return code < 400 ? "OK" : "Error";
+        }
+    }
+
+    /**
+     * Read a request head up to the blank line, or null at end of stream. Only
+     * bodiless requests are expected, so nothing after the head is read.
+     */
+    private static String readHead(InputStream in) throws IOException {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        int matched = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            head.write(b);
+            // Match \r\n\r\n
+            matched = (b == '\r' && matched % 2 == 0) || (b == '\n' && matched % 2 == 1) ? matched + 1 : (b == '\r' ? 1 : 0);
+            if (matched == 4) {
+                return head.toString("ISO-8859-1");
+            }
+            if (head.size() > MAX_HEADER_BYTES) {
+                throw new IOException("Request head too large");
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "LocalGNewsServer{port=%d, latency=%dms, errorRate=%.2f}",
+            getPort(), latencyMillis, errorRate);
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.newsapp.api;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.pm.ApplicationInfo;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Debug record/replay mode for all traffic through {@link HttpClientProvider}.
+ * RECORD saves every response (API calls, article pages, images) to a
+ * {@link FixtureStore}; REPLAY sends every request to a {@link LocalGNewsServer}
+ * serving those fixtures, so feeds and the offline pipeline can be exercised with
+ * no network and no quota. The mode is kept in preferences and set from the
+ * network debug screen. Only debuggable builds can leave OFF; a release build
+ * ignores any stored mode.
+ */
+public class NetworkReplay {
+    private static final String TAG = "NetworkReplay";
+    private static final String PREFS_NAME = "network_replay";
+    private static final String KEY_MODE = "mode";
+    private static final String KEY_LATENCY = "latency_ms";
+    private static final String KEY_ERROR_RATE = "error_rate";
+    private static final String FIXTURE_DIR = "network_fixtures";
+    private static final String LOOPBACK = "127.0.0.1";
+    private static final long MAX_RECORDED_BYTES = 5 * 1024 * 1024;
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    private static NetworkReplay instance;
+
+    private final SharedPreferences prefs;
+    private final FixtureStore fixtures;
+    private final LocalGNewsServer server;
+    private final boolean available;
+    private volatile Mode mode;
+
+    private NetworkReplay(Context context) {
+        available = isAvailable(context);
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        fixtures = new FixtureStore(new File(context.getFilesDir(), FIXTURE_DIR));
+        server = new LocalGNewsServer(fixtures);
+        server.setLatencyMillis(prefs.getLong(KEY_LATENCY, 0));
+        server.setErrorRate(prefs.getFloat(KEY_ERROR_RATE, 0f));
+        mode = Mode.OFF;
+        applyMode(Mode.valueOf(prefs.getString(KEY_MODE, Mode.OFF.name())));
+    }
+
+    /**
+     * Whether record and replay can be used at all, only in debuggable builds
+     */
+    public static boolean isAvailable(Context context) {
+        return (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+    }
+
+    public static synchronized NetworkReplay getInstance(Context context) {
+        if (instance == null) {
+            instance = new NetworkReplay(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Interceptor for the shared client. It is a no-op until {@link #getInstance}
+     * has been called with a context and a mode other than OFF is set.
+     */
+    static Interceptor interceptor() {
+        return chain -> {
+            NetworkReplay replay;
+            synchronized (NetworkReplay.class) {
+                replay = instance;
+            }
+            if (replay == null) {
+                return chain.proceed(chain.request());
+            }
+            return replay.intercept(chain);
+        };
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public synchronized void setMode(Mode newMode) {
+        prefs.edit().putString(KEY_MODE, newMode.name()).apply();
+        applyMode(newMode);
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        prefs.edit().putLong(KEY_LATENCY, latencyMillis).apply();
+        server.setLatencyMillis(latencyMillis);
+    }
+
+    public long getLatencyMillis() {
+        return prefs.getLong(KEY_LATENCY, 0);
+    }
+
+    public void setErrorRate(double errorRate) {
+        prefs.edit().putFloat(KEY_ERROR_RATE, (float) errorRate).apply();
+        server.setErrorRate(errorRate);
+    }
+
+    public double getErrorRate() {
+        return prefs.getFloat(KEY_ERROR_RATE, 0f);
+    }
+
+    public FixtureStore getFixtures() {
+        return fixtures;
+    }
+
+    private void applyMode(Mode newMode) {
+        if (!available && newMode != Mode.OFF) {
+            Log.w(TAG, "Network mode " + newMode + " is only available in debuggable builds");
+            newMode = Mode.OFF;
+        }
+        if (newMode == Mode.REPLAY) {
+            try {
+                server.start();
+            } catch (IOException e) {
+                Log.e(TAG, "Could not start replay server, staying on the network", e);
+                newMode = Mode.OFF;
+            }
+        } else {
+            server.stop();
+        }
+        mode = newMode;
+        Log.d(TAG, "Network mode: " + newMode);
+    }
+
+    private Response intercept(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        switch (mode) {
+            case REPLAY: {
+                int port = server.getPort();
+                if (port == -1 || isReplayUrl(request.url())) {
+                    return chain.proceed(request);
+                }
+                return chain.proceed(request.newBuilder().url(toReplayUrl(request.url(), port)).build());
+            }
+            case RECORD: {
+                Response response = chain.proceed(request);
+                record(request, response);
+                return response;
+            }
+            default:
+                return chain.proceed(request);
+        }
+    }
+
+    private void record(Request request, Response response) {
+        // Only-if-cached misses are not real responses
+        if (response.code() == 504 && response.networkResponse() == null) {
+            return;
+        }
+        try {
+            ResponseBody peeked = response.peekBody(MAX_RECORDED_BYTES);
+            MediaType contentType = peeked.contentType();
+            fixtures.save(FixtureStore.keyFor(request.method(), request.url()),
+                new FixtureStore.Fixture(response.code(),
+                    contentType != null ? contentType.toString() : null, peeked.bytes()));
+        } catch (IOException e) {
+            Log.e(TAG, "Error recording " + request.url(), e);
+        }
+    }
+
+    /**
+     * {@code https://host/path?query} becomes {@code http://127.0.0.1:port/host/path?query}
+     */
+    static HttpUrl toReplayUrl(HttpUrl url, int port) {
+        return new HttpUrl.Builder()
+            .scheme("http")
+            .host(LOOPBACK)
+            .port(port)
+            .addPathSegment(url.host())
+            .addEncodedPathSegments(url.encodedPath().substring(1))
+            .encodedQuery(url.encodedQuery())
+            .build();
+    }
+
+    static boolean isReplayUrl(HttpUrl url) {
+        return LOOPBACK.equals(url.host()) && !url.pathSegments().isEmpty();
+    }
+
+    /**
+     * The URL a replayed request stood in for, or the URL itself if it is not a replay URL
+     */
+    static HttpUrl originalUrl(HttpUrl url) {
+        if (!isReplayUrl(url)) {
+            return url;
+        }
+        HttpUrl original = HttpUrl.parse("https:/" + url.encodedPath()
+            + (url.encodedQuery() != null ? "?" + url.encodedQuery() : ""));
+        return original != null ? original : url;
+    }
+
+    @Override
+    public String toString() {
+        return "NetworkReplay{mode=" + mode + ", fixtures=" + fixtures.count() + ", " + server + "}";
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.newsapp.api;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+
+/**
+ * Process-wide network telemetry. Collects per-endpoint connection timings from
+ * every call made through {@link HttpClientProvider}, plus response parsing times,
+ * so a slow screen can be attributed to the network or to parsing.
+ */
+public class NetworkTelemetry {
+    private static final String TAG = "NetworkTelemetry";
+    private static final String GNEWS_HOST = "gnews.io";
+    private static final String OTHER_HOSTS = "other-hosts";
+    private static final int MAX_ENDPOINTS = 48; // Bounds memory when many article/image hosts are hit
+
+    private static NetworkTelemetry instance;
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> parseTimes = new ConcurrentHashMap<>();
+    private final long startedAt = System.currentTimeMillis();
+
+    private NetworkTelemetry() {
+    }
+
+    public static synchronized NetworkTelemetry getInstance() {
+        if (instance == null) {
+            instance = new NetworkTelemetry();
+        }
+        return instance;
+    }
+
+    /**
+     * Factory for the shared OkHttp client; each call gets its own listener
+     */
+    public EventListener.Factory eventListenerFactory() {
+        return call -> new TelemetryEventListener(getEndpointMetrics(endpointFor(call.request().url())));
+    }
+
+    /**
+     * GNews calls are grouped by API path ("top-headlines", "search"), everything
+     * else by host
+     */
+    static String endpointFor(HttpUrl requestUrl) {
+        // Replayed calls are attributed to the endpoint they stand in for
+        HttpUrl url = NetworkReplay.originalUrl(requestUrl);
+        String host = url.host();
+        if (host.equals(GNEWS_HOST) || host.endsWith("." + GNEWS_HOST)) {
+            List<String> segments = url.pathSegments();
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                if (!segments.get(i).isEmpty()) {
+                    return segments.get(i);
+                }
+            }
+        }
+        return host;
+    }
+
+    public EndpointMetrics getEndpointMetrics(String endpoint) {
+        EndpointMetrics metrics = endpoints.get(endpoint);
+        if (metrics == null) {
+            String key = endpoints.size() < MAX_ENDPOINTS ? endpoint : OTHER_HOSTS;
+            endpoints.putIfAbsent(key, new EndpointMetrics(key));
+            metrics = endpoints.get(key);
+        }
+        return metrics;
+    }
+
+    /**
+     * Record how long it took to turn a response body into objects
+     * @param what a label for the parsed type, e.g. "NewsResponse"
+     */
+    public void recordParse(String what, long millis) {
+        LatencyHistogram histogram = parseTimes.get(what);
+        if (histogram == null) {
+            parseTimes.putIfAbsent(what, new LatencyHistogram());
+            histogram = parseTimes.get(what);
+        }
+        histogram.record(millis);
+    }
+
+    public void reset() {
+        for (EndpointMetrics metrics : endpoints.values()) {
+            metrics.reset();
+        }
+        parseTimes.clear();
+    }
+
+    /**
+     * Human-readable report of all endpoints and parse timings
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US);
+        sb.append("Network telemetry since ").append(format.format(new Date(startedAt)))
+            .append(", dumped ").append(format.format(new Date())).append("\n\n");
+
+        if (endpoints.isEmpty()) {
+            sb.append("No calls recorded yet\n");
+        }
+        for (EndpointMetrics metrics : new TreeMap<>(endpoints).values()) {
+            sb.append(metrics).append('\n');
+        }
+
+        if (!parseTimes.isEmpty()) {
+            sb.append("[parsing]\n");
+            for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(parseTimes).entrySet()) {
+                sb.append("  ").append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Write the current report to a timestamped file in the given directory
+     * @return the written file
+     */
+    public File dumpToFile(File directory) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.US).format(new Date());
+        File file = new File(directory, "network_telemetry_" + timestamp + ".txt");
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(dump());
+        }
+        Log.d(TAG, "Telemetry written to " + file.getAbsolutePath());
+        return file;
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.newsapp.api;
+
+import com.example.newsapp.data.models.Article;
+import com.example.newsapp.data.models.NewsResponse;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written streaming Gson adapters for the API models. They read fields with a
+ * switch on the name instead of reflection, read primitives without boxing and skip
+ * unknown fields with a single skipValue call. Field names match what the reflective
+ * adapter used, so stored and cached JSON stays compatible.
+ */
+public final class NewsTypeAdapters {
+
+    private NewsTypeAdapters() {
+    }
+
+    /**
+     * Register the adapters for NewsResponse, Article and Article.Source
+     */
+    public static GsonBuilder register(GsonBuilder builder) {
+        SourceAdapter sourceAdapter = new SourceAdapter();
+        ArticleAdapter articleAdapter = new ArticleAdapter(sourceAdapter);
+        return builder
+            .registerTypeAdapter(Article.Source.class, sourceAdapter)
+            .registerTypeAdapter(Article.class, articleAdapter)
+            .registerTypeAdapter(NewsResponse.class, new NewsResponseAdapter(articleAdapter));
+    }
+
+    static final class NewsResponseAdapter extends TypeAdapter<NewsResponse> {
+        private final ArticleAdapter articleAdapter;
+
+        NewsResponseAdapter(ArticleAdapter articleAdapter) {
+            this.articleAdapter = articleAdapter;
+        }
+
+        @Override
+        public NewsResponse read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            NewsResponse response = new NewsResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        response.setStatus(readString(in));
+                        break;
+                    case "totalResults":
+                    case "totalArticles": // GNews' name for the same count
+                        response.setTotalResults(readInt(in));
+                        break;
+                    case "articles":
+                        response.setArticles(readArticles(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return response;
+        }
+
+        private List<Article> readArticles(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            List<Article> articles = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                Article article = articleAdapter.read(in);
+                if (article != null) {
+                    articles.add(article);
+                }
+            }
+            in.endArray();
+            return articles;
+        }
+
+        @Override
+        public void write(JsonWriter out, NewsResponse value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "status", value.getStatus());
+            out.name("totalResults").value(value.getTotalResults());
+            if (value.getArticles() != null) {
+                out.name("articles").beginArray();
+                for (Article article : value.getArticles()) {
+                    articleAdapter.write(out, article);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+    }
+
+    static final class ArticleAdapter extends TypeAdapter<Article> {
+        private final SourceAdapter sourceAdapter;
+
+        ArticleAdapter(SourceAdapter sourceAdapter) {
+            this.sourceAdapter = sourceAdapter;
+        }
+
+        @Override
+        public Article read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Article article = new Article();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "title":
+                        article.setTitle(readString(in));
+                        break;
+                    case "description":
+                        article.setDescription(readString(in));
+                        break;
+                    case "content":
+                        article.setContent(readString(in));
+                        break;
+                    case "url": {
+                        // The primary key is non-null, a missing URL stays empty
+                        String url = readString(in);
+                        if (url != null) {
+                            article.setUrl(url);
+                        }
+                        break;
+                    }
+                    case "image":
+                        article.setUrlToImage(readString(in));
+                        break;
+                    case "publishedAt":
+                        article.setPublishedAt(readString(in));
+                        break;
+                    case "source":
+                        article.setSource(sourceAdapter.read(in));
+                        break;
+                    case "category":
+                        article.setCategory(readString(in));
+                        break;
+                    case "isFeatured":
+                        article.setFeatured(readBoolean(in));
+                        break;
+                    case "timestamp":
+                        article.setTimestamp(readLong(in));
+                        break;
+                    case "isBookmarked":
+                        article.setBookmarked(readBoolean(in));
+                        break;
+                    case "isDownloadedForOffline":
+                        article.setDownloadedForOffline(readBoolean(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return article;
+        }
+
+        @Override
+        public void write(JsonWriter out, Article value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "url", value.getUrl());
+            writeString(out, "title", value.getTitle());
+            writeString(out, "description", value.getDescription());
+            writeString(out, "image", value.getUrlToImage());
+            writeString(out, "category", value.getCategory());
+            out.name("isFeatured").value(value.isFeatured());
+            out.name("timestamp").value(value.getTimestamp());
+            writeString(out, "content", value.getContent());
+            writeString(out, "publishedAt", value.getPublishedAt());
+            out.name("isBookmarked").value(value.isBookmarked());
+            out.name("isDownloadedForOffline").value(value.isDownloadedForOffline());
+            if (value.getSource() != null) {
+                out.name("source");
+                sourceAdapter.write(out, value.getSource());
+            }
+            out.endObject();
+        }
+    }
+
+    static final class SourceAdapter extends TypeAdapter<Article.Source> {
+        @Override
+        public Article.Source read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Article.Source source = new Article.Source();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name":
+                        source.setName(readString(in));
+                        break;
+                    case "url":
+                        source.setUrl(readString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return source;
+        }
+
+        @Override
+        public void write(JsonWriter out, Article.Source value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "name", value.getName());
+            writeString(out, "url", value.getUrl());
+            out.endObject();
+        }
+    }
+
+    // Readers follow Gson's built-in leniency: strings also accept numbers and booleans,
+    // numbers accept numeric strings
+
+    private static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    private static boolean readBoolean(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return false;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    private static long readLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextLong();
+    }
+
+    private static int readInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextInt();
+    }
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+}
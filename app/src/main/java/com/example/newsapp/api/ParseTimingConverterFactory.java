@@ -0,0 +1,52 @@
+package com.example.newsapp.api;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Wraps a converter factory and reports how long each response body takes to
+ * convert to {@link NetworkTelemetry}. Conversion also includes reading the rest
+ * of the body from the socket, which the network timings do not cover.
+ */
+class ParseTimingConverterFactory extends Converter.Factory {
+    private final Converter.Factory delegate;
+    private final NetworkTelemetry telemetry;
+
+    ParseTimingConverterFactory(Converter.Factory delegate, NetworkTelemetry telemetry) {
+        this.delegate = delegate;
+        this.telemetry = telemetry;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        Converter<ResponseBody, ?> converter = delegate.responseBodyConverter(type, annotations, retrofit);
+        if (converter == null) {
+            return null;
+        }
+        String label = type instanceof Class ? ((Class<?>) type).getSimpleName() : type.toString();
+        return body -> {
+            long start = System.nanoTime();
+            try {
+                return converter.convert(body);
+            } finally {
+                telemetry.recordParse(label, (System.nanoTime() - start) / 1_000_000);
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+    }
+
+    @Override
+    public Converter<?, String> stringConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        return delegate.stringConverter(type, annotations, retrofit);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.newsapp.api;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of making a GNews call when the quota scheduler denies it
+ */
+public class QuotaExceededException extends IOException {
+    public QuotaExceededException(String message) {
+        super(message);
+    }
+}
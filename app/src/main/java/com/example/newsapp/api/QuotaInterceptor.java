@@ -0,0 +1,50 @@
+package com.example.newsapp.api;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that charges every GNews call that actually reaches the
+ * network against the {@link ApiQuotaManager}. Responses served from the HTTP
+ * cache never get here, so they are free.
+ */
+public class QuotaInterceptor implements Interceptor {
+    private final ApiQuotaManager quotaManager;
+
+    public QuotaInterceptor(ApiQuotaManager quotaManager) {
+        this.quotaManager = quotaManager;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (NetworkReplay.isReplayUrl(chain.request().url())) {
+            // Served by the local replay server, GNews never sees it
+            return chain.proceed(chain.request());
+        }
+        if (!quotaManager.tryAcquire()) {
+            throw new QuotaExceededException("GNews request budget exhausted for now");
+        }
+
+        Response response = chain.proceed(chain.request());
+        if (response.code() == 429) {
+            quotaManager.onRateLimited(parseRetryAfter(response.header("Retry-After")));
+        } else if (response.isSuccessful()) {
+            quotaManager.onSuccess();
+        }
+        return response;
+    }
+
+    private static long parseRetryAfter(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            // HTTP-date form is not worth parsing here, the jittered backoff covers it
+            return 0;
+        }
+    }
+}
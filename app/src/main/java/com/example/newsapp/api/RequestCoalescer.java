@@ -0,0 +1,180 @@
+package com.example.newsapp.api;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Process-wide single-flight layer for API calls. Callers that enqueue an identical
+ * request while one is already in flight are attached to that call instead of
+ * starting a new one, and all of them receive the same parsed response.
+ * Each caller gets its own {@link Subscription}; the underlying call is only
+ * cancelled once every attached caller has cancelled.
+ */
+public class RequestCoalescer {
+    private static final String TAG = "RequestCoalescer";
+    private static final String API_KEY_PARAM = "apikey";
+
+    private static RequestCoalescer instance;
+
+    private final Map<String, InFlight<?>> inFlight = new HashMap<>();
+
+    public interface Subscription {
+        void cancel();
+    }
+
+    public static synchronized RequestCoalescer getInstance() {
+        if (instance == null) {
+            instance = new RequestCoalescer();
+        }
+        return instance;
+    }
+
+    /**
+     * Enqueue a call, sharing it with any identical call already in flight. If the
+     * request is coalesced, the passed call is never executed.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Subscription enqueue(Call<T> call, Callback<T> callback) {
+        String key = keyFor(call.request());
+        InFlight<T> flight;
+        Subscriber<T> subscriber = new Subscriber<>(callback);
+        boolean start = false;
+
+        synchronized (this) {
+            flight = (InFlight<T>) inFlight.get(key);
+            if (flight == null) {
+                flight = new InFlight<>(key, call);
+                inFlight.put(key, flight);
+                start = true;
+            } else {
+                Log.d(TAG, "Joining in-flight request: " + key);
+            }
+            flight.subscribers.add(subscriber);
+        }
+
+        if (start) {
+            flight.call.enqueue(flight);
+        }
+
+        final InFlight<T> finalFlight = flight;
+        return () -> cancel(finalFlight, subscriber);
+    }
+
+    private <T> void cancel(InFlight<T> flight, Subscriber<T> subscriber) {
+        boolean cancelCall = false;
+        synchronized (this) {
+            subscriber.cancelled = true;
+            if (flight.subscribers.remove(subscriber) && flight.subscribers.isEmpty()
+                    && inFlight.get(flight.key) == flight) {
+                inFlight.remove(flight.key);
+                cancelCall = true;
+            }
+        }
+        if (cancelCall) {
+            Log.d(TAG, "All callers cancelled, cancelling request: " + flight.key);
+            flight.call.cancel();
+        }
+    }
+
+    private synchronized <T> List<Subscriber<T>> complete(InFlight<T> flight) {
+        if (inFlight.get(flight.key) == flight) {
+            inFlight.remove(flight.key);
+        }
+        List<Subscriber<T>> subscribers = new ArrayList<>(flight.subscribers);
+        flight.subscribers.clear();
+        return subscribers;
+    }
+
+    /**
+     * Normalized request key: method, path and query parameters sorted by name,
+     * lower-cased and without the API key.
+     */
+    static String keyFor(Request request) {
+        HttpUrl url = request.url();
+        Map<String, String> params = new TreeMap<>();
+        for (String name : url.queryParameterNames()) {
+            if (API_KEY_PARAM.equalsIgnoreCase(name)) {
+                continue;
+            }
+            String value = url.queryParameter(name);
+            params.put(name.toLowerCase(Locale.US),
+                    value == null ? "" : value.trim().toLowerCase(Locale.US));
+        }
+        return request.method() + " " + url.host() + url.encodedPath() + params;
+    }
+
+    private static class Subscriber<T> {
+        final Callback<T> callback;
+        volatile boolean cancelled;
+
+        Subscriber(Callback<T> callback) {
+            this.callback = callback;
+        }
+    }
+
+    private class InFlight<T> implements Callback<T> {
+        final String key;
+        final Call<T> call;
+        final List<Subscriber<T>> subscribers = new ArrayList<>();
+
+        InFlight(String key, Call<T> call) {
+            this.key = key;
+            this.call = call;
+        }
+
+        @Override
+        public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+            List<Subscriber<T>> subscribers = complete(this);
+
+            // Error bodies are one-shot streams, buffer them so every caller can read one
+            byte[] errorBytes = null;
+            MediaType errorType = null;
+            if (!response.isSuccessful() && response.errorBody() != null) {
+                try (ResponseBody errorBody = response.errorBody()) {
+                    errorType = errorBody.contentType();
+                    errorBytes = errorBody.bytes();
+                } catch (IOException e) {
+                    Log.e(TAG, "Error buffering error body", e);
+                }
+            }
+
+            for (Subscriber<T> subscriber : subscribers) {
+                if (subscriber.cancelled) {
+                    continue;
+                }
+                Response<T> copy = response;
+                if (!response.isSuccessful()) {
+                    copy = Response.error(ResponseBody.create(errorType,
+                            errorBytes != null ? errorBytes : new byte[0]), response.raw());
+                }
+                subscriber.callback.onResponse(call, copy);
+            }
+        }
+
+        @Override
+        public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+            for (Subscriber<T> subscriber : complete(this)) {
+                if (!subscriber.cancelled) {
+                    subscriber.callback.onFailure(call, t);
+                }
+            }
+        }
+    }
+}
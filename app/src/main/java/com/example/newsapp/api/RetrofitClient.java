@@ -1,9 +1,14 @@
 package com.example.newsapp.api;
 
+import android.content.Context;
 import android.util.Log;
 
-import java.util.concurrent.TimeUnit;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 
+import java.io.File;
+
+import okhttp3.Cache;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.logging.HttpLoggingInterceptor;
@@ -13,40 +18,86 @@ import retrofit2.converter.gson.GsonConverterFactory;
 public class RetrofitClient {
     private static final String TAG = "RetrofitClient";
     private static final String BASE_URL = "https://gnews.io/api/v4/";
+    private static final String CACHE_DIR = "gnews_http_cache";
+    private static final long CACHE_SIZE_BYTES = 10 * 1024 * 1024; // 10 MB
+    private static final int MAX_STALE_SECONDS = 2 * 60 * 60; // Serve stale for up to 2 hours while revalidating
     private static Retrofit retrofit;
+    // Streaming adapters for the API models instead of reflection
+    private static final Gson gson = NewsTypeAdapters.register(new GsonBuilder()).create();
+    private static final CacheStats cacheStats = new CacheStats();
 
     public static Retrofit getRetrofitInstance() {
+        return getRetrofitInstance(null);
+    }
+
+    /**
+     * Returns the shared Retrofit instance. The first call that passes a context also
+     * sets up the on-disk response cache in the app's cache directory.
+     */
+    public static synchronized Retrofit getRetrofitInstance(Context context) {
         if (retrofit == null) {
-            // Add logging interceptor
-            HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor(message -> 
+            // Add logging interceptor. Bodies are not logged: BODY level buffers the
+            // whole response, which would defeat streamed calls.
+            HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor(message ->
                 Log.d(TAG, message));
-            loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-            
-            OkHttpClient client = new OkHttpClient.Builder()
+            loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.HEADERS);
+
+            // Derive from the shared client so API calls reuse its connection pool and dispatcher
+            OkHttpClient.Builder builder = HttpClientProvider.getSharedClient().newBuilder()
                 .addInterceptor(chain -> {
                     Request original = chain.request();
                     Request request = original.newBuilder()
                         .header("User-Agent", "Mozilla/5.0")
                         .method(original.method(), original.body())
                         .build();
-                    
+
                     Log.d(TAG, "Sending request to URL: " + original.url());
                     return chain.proceed(request);
                 })
-                .addInterceptor(loggingInterceptor)
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .build();
+                .addInterceptor(loggingInterceptor);
+
+            StaleWhileRevalidateInterceptor staleWhileRevalidate = null;
+            if (context != null) {
+                // Restores a record/replay mode left on from the debug screen
+                NetworkReplay.getInstance(context);
+                File cacheDir = new File(context.getApplicationContext().getCacheDir(), CACHE_DIR);
+                staleWhileRevalidate = new StaleWhileRevalidateInterceptor(MAX_STALE_SECONDS, cacheStats);
+                builder.cache(new Cache(cacheDir, CACHE_SIZE_BYTES))
+                    .addInterceptor(staleWhileRevalidate)
+                    .addNetworkInterceptor(new QuotaInterceptor(ApiQuotaManager.getInstance(context)))
+                    .addNetworkInterceptor(new CacheFreshnessInterceptor());
+            } else {
+                Log.w(TAG, "No context available, HTTP response cache and quota tracking disabled");
+            }
+
+            OkHttpClient client = builder.build();
+            if (staleWhileRevalidate != null) {
+                staleWhileRevalidate.setCallFactory(client);
+            }
 
             retrofit = new Retrofit.Builder()
                 .baseUrl(BASE_URL)
                 .client(client)
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(new ParseTimingConverterFactory(
+                    GsonConverterFactory.create(gson), NetworkTelemetry.getInstance()))
                 .build();
-            
+
             Log.d(TAG, "Retrofit instance created with base URL: " + BASE_URL);
         }
         return retrofit;
     }
+
+    /**
+     * The Gson instance used by the API converter, for code that parses API JSON itself
+     */
+    public static Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * Hit, miss and revalidation counts for the API response cache
+     */
+    public static CacheStats getCacheStats() {
+        return cacheStats;
+    }
 }
@@ -0,0 +1,128 @@
+package com.example.newsapp.api;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.CacheControl;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Application interceptor that answers GET requests from the disk cache first.
+ * A fresh cached response is returned as is. A stale one (within the allowed
+ * stale window) is returned immediately and refreshed from the network in the
+ * background. Only a cache miss waits for the network.
+ */
+public class StaleWhileRevalidateInterceptor implements Interceptor {
+    private static final String TAG = "StaleWhileRevalidate";
+    private static final String REVALIDATE_HEADER = "X-Cache-Revalidate";
+
+    private final int maxStaleSeconds;
+    private final CacheStats stats;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private volatile Call.Factory callFactory;
+
+    public StaleWhileRevalidateInterceptor(int maxStaleSeconds, CacheStats stats) {
+        this.maxStaleSeconds = maxStaleSeconds;
+        this.stats = stats;
+    }
+
+    /**
+     * Sets the client used for background revalidation. It must be the client this
+     * interceptor is installed on, so the refreshed response lands in the same cache.
+     */
+    void setCallFactory(Call.Factory callFactory) {
+        this.callFactory = callFactory;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+
+        if (request.header(REVALIDATE_HEADER) != null) {
+            return chain.proceed(request.newBuilder()
+                    .removeHeader(REVALIDATE_HEADER)
+                    .cacheControl(CacheControl.FORCE_NETWORK)
+                    .build());
+        }
+
+        if (!"GET".equals(request.method()) || request.cacheControl().noCache()) {
+            return chain.proceed(request);
+        }
+
+        Request cacheOnlyRequest = request.newBuilder()
+                .cacheControl(new CacheControl.Builder()
+                        .onlyIfCached()
+                        .maxStale(maxStaleSeconds, TimeUnit.SECONDS)
+                        .build())
+                .build();
+        Response cached = chain.proceed(cacheOnlyRequest);
+
+        if (cached.code() == 504) {
+            // Nothing usable in the cache
+            cached.close();
+            stats.recordMiss();
+            return chain.proceed(request);
+        }
+
+        if (isStale(cached)) {
+            stats.recordRevalidation();
+            revalidateInBackground(request);
+        } else {
+            stats.recordHit();
+        }
+        return cached;
+    }
+
+    private boolean isStale(Response cached) {
+        // OkHttp marks responses served past their freshness lifetime with "110 Response is Stale"
+        for (String warning : cached.headers("Warning")) {
+            if (warning.startsWith("110")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void revalidateInBackground(Request request) {
+        Call.Factory factory = callFactory;
+        String key = request.url().toString();
+        if (factory == null || !revalidating.add(key)) {
+            return;
+        }
+
+        Log.d(TAG, "Serving stale response, revalidating " + request.url().encodedPath());
+        factory.newCall(request.newBuilder().header(REVALIDATE_HEADER, "1").build())
+                .enqueue(new Callback() {
+                    @Override
+                    public void onResponse(@NonNull Call call, @NonNull Response response) {
+                        // The body has to be consumed for the cache entry to be committed
+                        try (ResponseBody body = response.body()) {
+                            if (body != null) {
+                                body.bytes();
+                            }
+                        } catch (IOException e) {
+                            Log.w(TAG, "Revalidation body read failed", e);
+                        } finally {
+                            revalidating.remove(key);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                        revalidating.remove(key);
+                        Log.w(TAG, "Revalidation failed for " + request.url().encodedPath(), e);
+                    }
+                });
+    }
+}
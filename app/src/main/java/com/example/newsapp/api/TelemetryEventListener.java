@@ -0,0 +1,124 @@
+package com.example.newsapp.api;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Per-call OkHttp event listener that turns connection phase timings into
+ * {@link EndpointMetrics}. One instance is created for every call, so the
+ * timestamps need no synchronization beyond what OkHttp already guarantees.
+ */
+class TelemetryEventListener extends EventListener {
+    private final EndpointMetrics metrics;
+
+    private long callStartNanos;
+    private long dnsStartNanos;
+    private long connectStartNanos;
+    private long secureConnectStartNanos;
+    private long requestSentNanos;
+    private boolean firstByteRecorded;
+
+    TelemetryEventListener(EndpointMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStartNanos = System.nanoTime();
+        metrics.calls.incrementAndGet();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        metrics.dns.record(elapsedMillis(dnsStartNanos));
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        metrics.tls.record(elapsedMillis(secureConnectStartNanos));
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        metrics.connect.record(elapsedMillis(connectStartNanos));
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestSentNanos = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        // Only the first network exchange counts, a revalidation or redirect would skew it
+        if (!firstByteRecorded && requestSentNanos != 0) {
+            firstByteRecorded = true;
+            metrics.timeToFirstByte.record(elapsedMillis(requestSentNanos));
+        }
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        metrics.bodyBytes.addAndGet(byteCount);
+    }
+
+    @Override
+    public void cacheHit(Call call, Response response) {
+        metrics.cacheHits.incrementAndGet();
+    }
+
+    @Override
+    public void cacheConditionalHit(Call call, Response cachedResponse) {
+        metrics.cacheConditionalHits.incrementAndGet();
+    }
+
+    @Override
+    public void cacheMiss(Call call) {
+        metrics.cacheMisses.incrementAndGet();
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        long elapsed = elapsedMillis(callStartNanos);
+        metrics.total.record(elapsed);
+        if (requestSentNanos != 0) {
+            metrics.network.record(elapsed);
+        }
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        metrics.total.record(elapsedMillis(callStartNanos));
+        // A cancelled call (e.g. the losing side of a hedge) is not a network error
+        metrics.recordError(call.isCanceled() ? "Canceled" : ioe.getClass().getSimpleName());
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -7,61 +7,306 @@ import androidx.room.Query;
 import androidx.room.Transaction;
 
 import com.example.newsapp.data.models.Article;
+import com.example.newsapp.data.models.FeedEntry;
+import com.example.newsapp.data.models.StoredArticle;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Articles are stored once in {@code articles}, listed in feeds by {@code feed_entries}
+ * and bookmarked or downloaded in {@code article_state}. Reads join the three into
+ * {@link Article}; writes touch only the table whose data changed. List queries read
+ * summaries; the full text is read by {@link #getArticle} alone.
+ */
 @Dao
 public interface ArticleDao {
-    @Query("SELECT * FROM articles WHERE category = :category AND isFeatured = :isFeatured ORDER BY timestamp DESC")
+    // Cards show two or three lines of description
+    int SUMMARY_DESCRIPTION_LENGTH = 300;
+    
+    String STATE_COLUMNS = "COALESCE(s.isBookmarked, 0) AS isBookmarked, " +
+        "COALESCE(s.isDownloadedForOffline, 0) AS isDownloadedForOffline";
+    
+    // Everything stored about an article
+    String ARTICLE_COLUMNS = "a.url, a.title, a.description, a.urlToImage, a.content, a.publishedAt, " +
+        STATE_COLUMNS;
+    
+    // What list screens show: no content and a clipped description, so a list load does
+    // not pull article bodies through the cursor window. Summaries are never written back
+    // as article text.
+    String SUMMARY_TEXT_COLUMNS = "a.url, a.title, substr(a.description, 1, " + SUMMARY_DESCRIPTION_LENGTH +
+        ") AS description, a.urlToImage, NULL AS content";
+    
+    String SUMMARY_COLUMNS = SUMMARY_TEXT_COLUMNS + ", a.publishedAt, " + STATE_COLUMNS;
+    
+    // Summaries of feed articles, with the category, slot and write time of the entry. The
+    // entry's publishedAt is the one feeds are ordered and paged by, so cursors use it too.
+    String FEED_ARTICLES = "SELECT " + SUMMARY_TEXT_COLUMNS + ", f.publishedAt, " + STATE_COLUMNS +
+        ", f.category, f.isFeatured, f.timestamp " +
+        "FROM feed_entries f JOIN articles a ON a.url = f.url LEFT JOIN article_state s ON s.url = f.url ";
+    
+    // Articles outside a feed are shown with the feed that last listed them, if any
+    String LAST_CATEGORY = "(SELECT category FROM feed_entries WHERE url = a.url " +
+        "ORDER BY timestamp DESC LIMIT 1) AS category, 0 AS isFeatured, a.timestamp";
+    
+    String FEED_ORDER = "ORDER BY f.publishedAt DESC, f.timestamp DESC, f.url DESC";
+    
+    @Query(FEED_ARTICLES + "WHERE f.category = :category AND f.isFeatured = :isFeatured " + FEED_ORDER)
     List<Article> getArticlesByCategoryAndType(String category, boolean isFeatured);
     
+    // Keyset pages of a feed in the order above; url breaks ties so every row has one place
+    @Query(FEED_ARTICLES + "WHERE f.category = :category AND f.isFeatured = :isFeatured " +
+           FEED_ORDER + " LIMIT :limit")
+    List<Article> getFeedPage(String category, boolean isFeatured, int limit);
+    
+    // The page after the given row. Spelled out because API 24's SQLite has no row values;
+    // the leading publishedAt bound lets the index skip to the cursor
+    @Query(FEED_ARTICLES + "WHERE f.category = :category AND f.isFeatured = :isFeatured " +
+           "AND f.publishedAt <= :publishedAt AND (f.publishedAt < :publishedAt OR f.timestamp < :timestamp " +
+           "OR (f.timestamp = :timestamp AND f.url < :url)) " +
+           FEED_ORDER + " LIMIT :limit")
+    List<Article> getFeedPageAfter(String category, boolean isFeatured, String publishedAt, long timestamp,
+                                   String url, int limit);
+    
+    @Query("SELECT COUNT(*) FROM feed_entries WHERE category = :category AND isFeatured = :isFeatured")
+    int countArticlesByCategoryAndType(String category, boolean isFeatured);
+    
+    @Query("SELECT MAX(publishedAt) FROM feed_entries WHERE category = :category")
+    String getNewestPublishedAt(String category);
+    
+    // When the category was last written, null if nothing is cached for it
+    @Query("SELECT MAX(timestamp) FROM feed_entries WHERE category = :category")
+    Long getLatestTimestamp(String category);
+    
+    @Query("SELECT urlToImage FROM articles WHERE urlToImage IS NOT NULL ORDER BY timestamp DESC LIMIT :limit")
+    List<String> getRecentImageUrls(int limit);
+    
+    // One row per feed that lists the article
+    @Query(FEED_ARTICLES + "WHERE f.url = :url")
+    List<Article> getArticlesByUrl(String url);
+    
+    // The full article, for reading and offline copies; null if it is not stored
+    @Query("SELECT " + ARTICLE_COLUMNS + ", " + LAST_CATEGORY + " FROM articles a " +
+           "LEFT JOIN article_state s ON s.url = a.url WHERE a.url = :url")
+    Article getArticle(String url);
+    
+    // Every match of a local search, ranked by the caller from their matchinfo. Only
+    // the columns needed to rank are read, so scoring them all stays cheap.
+    @Query("SELECT a.url, a.publishedAt, matchinfo(articles_fts, 'pcx') AS matchInfo " +
+           "FROM articles a JOIN articles_fts ON a.rowid = articles_fts.rowid " +
+           "WHERE articles_fts MATCH :match")
+    List<ArticleSearchMatch> searchArticles(String match);
+    
+    // Summaries of the given articles, in no particular order
+    @Query("SELECT " + SUMMARY_COLUMNS + ", " + LAST_CATEGORY + " FROM articles a " +
+           "LEFT JOIN article_state s ON s.url = a.url WHERE a.url IN (:urls)")
+    List<Article> getArticleSummaries(List<String> urls);
+    
+    // Article text
+    
+    // Only new articles; the text of known ones goes through updateArticleIfChanged
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    List<Long> insertStoredArticles(List<StoredArticle> articles);
+    
+    // Rewrites stored text only where a non-null value differs, so refreshing known
+    // articles writes nothing and the full-text index is left alone
+    @Query("UPDATE articles SET title = COALESCE(:title, title), " +
+           "description = COALESCE(:description, description), " +
+           "urlToImage = COALESCE(:urlToImage, urlToImage), content = COALESCE(:content, content), " +
+           "publishedAt = COALESCE(:publishedAt, publishedAt) WHERE url = :url AND (" +
+           "(:title IS NOT NULL AND title IS NOT :title) OR " +
+           "(:description IS NOT NULL AND description IS NOT :description) OR " +
+           "(:urlToImage IS NOT NULL AND urlToImage IS NOT :urlToImage) OR " +
+           "(:content IS NOT NULL AND content IS NOT :content) OR " +
+           "(:publishedAt IS NOT NULL AND publishedAt IS NOT :publishedAt))")
+    int updateArticleIfChanged(String url, String title, String description, String urlToImage,
+                               String content, String publishedAt);
+    
+    /**
+     * Store the text of the articles, adding new ones and updating known ones that changed
+     */
+    @Transaction
+    default void storeArticles(List<Article> articles) {
+        List<StoredArticle> rows = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            rows.add(StoredArticle.from(article));
+        }
+        List<Long> rowIds = insertStoredArticles(rows);
+        for (int i = 0; i < rowIds.size(); i++) {
+            if (rowIds.get(i) == -1) {
+                Article article = articles.get(i);
+                updateArticleIfChanged(article.getUrl(), article.getTitle(), article.getDescription(),
+                    article.getUrlToImage(), article.getContent(), article.getPublishedAt());
+            }
+        }
+    }
+    
+    // Articles no feed lists and the user kept no state for
+    @Query("DELETE FROM articles WHERE NOT EXISTS (SELECT 1 FROM feed_entries f WHERE f.url = articles.url) " +
+           "AND NOT EXISTS (SELECT 1 FROM article_state s WHERE s.url = articles.url " +
+           "AND (s.isBookmarked = 1 OR s.isDownloadedForOffline = 1))")
+    int deleteUnreferencedArticles();
+    
+    // Feed membership
+    
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insertArticles(List<Article> articles);
+    void insertFeedEntries(List<FeedEntry> entries);
+    
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    List<Long> insertNewFeedEntries(List<FeedEntry> entries);
     
-    @Query("DELETE FROM articles WHERE category = :category AND isFeatured = :isFeatured")
+    @Query("DELETE FROM feed_entries WHERE category = :category AND isFeatured = :isFeatured")
     void deleteArticlesByCategoryAndType(String category, boolean isFeatured);
     
-    @Query("DELETE FROM articles WHERE timestamp < :expirationTime")
-    void deleteOldArticles(long expirationTime);
+    @Query("DELETE FROM feed_entries WHERE timestamp < :expirationTime")
+    void deleteFeedEntriesBefore(long expirationTime);
+    
+    /**
+     * Store normalized articles and list them in their feeds, replacing their
+     * previous entries
+     */
+    @Transaction
+    default void insertArticles(List<Article> articles) {
+        storeArticles(articles);
+        insertFeedEntries(FeedEntry.listAll(articles));
+    }
+    
+    // Marks an entry as fetched again, so it does not expire while the API still returns it,
+    // and moves it to the publish time the article text now carries
+    @Query("UPDATE feed_entries SET timestamp = :timestamp, publishedAt = COALESCE(:publishedAt, publishedAt) " +
+           "WHERE category = :category AND url = :url")
+    void touchFeedEntry(String category, String url, String publishedAt, long timestamp);
+    
+    /**
+     * Store normalized articles and list the ones their feed does not list yet.
+     * Entries already listed keep their slot and rank and take the new timestamp.
+     * @return the row id of each new entry, -1 for articles already listed
+     */
+    @Transaction
+    default List<Long> insertNewArticles(List<Article> articles) {
+        storeArticles(articles);
+        List<FeedEntry> entries = FeedEntry.listAll(articles);
+        List<Long> rowIds = insertNewFeedEntries(entries);
+        for (int i = 0; i < rowIds.size(); i++) {
+            if (rowIds.get(i) == -1) {
+                FeedEntry entry = entries.get(i);
+                touchFeedEntry(entry.getCategory(), entry.getUrl(), entry.getPublishedAt(), entry.getTimestamp());
+            }
+        }
+        return rowIds;
+    }
     
     @Transaction
     default void updateCategoryArticles(String category, List<Article> articles, boolean isFeatured) {
-        // Delete old articles of this category and type
+        // Replace the entries of this category and slot; known article text is kept
         deleteArticlesByCategoryAndType(category, isFeatured);
-        
-        // Insert new articles
         insertArticles(articles);
     }
     
+    /**
+     * Drop feed entries written before the given time, then the articles nothing
+     * refers to any more. Bookmarked and downloaded articles stay.
+     */
+    @Transaction
+    default void deleteOldArticles(long expirationTime) {
+        deleteFeedEntriesBefore(expirationTime);
+        deleteUnreferencedArticles();
+    }
+    
+    // The newest articles of a category are featured, the rest are regular
+    @Query("UPDATE feed_entries SET isFeatured = (url IN (SELECT url FROM feed_entries WHERE category = :category " +
+           "ORDER BY publishedAt DESC, timestamp DESC, url DESC LIMIT :featuredSlots)) WHERE category = :category")
+    void reslotFeatured(String category, int featuredSlots);
+    
+    // Bookmarked articles leave the feed too, their text stays for the bookmark
+    @Query("DELETE FROM feed_entries WHERE category = :category " +
+           "AND url NOT IN (SELECT url FROM feed_entries WHERE category = :category " +
+           "ORDER BY publishedAt DESC, timestamp DESC, url DESC LIMIT :keep)")
+    void trimCategory(String category, int keep);
+    
+    /**
+     * Merge newly published articles into a category without touching the entries
+     * already stored, then recompute which ones are featured
+     * @return the number of articles that were not stored yet
+     */
+    @Transaction
+    default int mergeCategoryArticles(String category, List<Article> articles, int featuredSlots, int keep) {
+        int added = 0;
+        for (long rowId : insertNewArticles(articles)) {
+            if (rowId != -1) {
+                added++;
+            }
+        }
+        reslotFeatured(category, featuredSlots);
+        trimCategory(category, keep);
+        return added;
+    }
+    
+    /**
+     * Add a page of older articles to a category, keeping the entries already stored,
+     * then drop the oldest entries beyond the given count
+     */
+    @Transaction
+    default void appendCategoryArticles(String category, List<Article> articles, int keep) {
+        insertNewArticles(articles);
+        trimCategory(category, keep);
+    }
+    
+    // User state
+    
+    @Query("INSERT OR IGNORE INTO article_state (url, isBookmarked, bookmarkedAt, isDownloadedForOffline, " +
+           "downloadedAt) VALUES (:articleUrl, 0, 0, 0, 0)")
+    void insertStateIfMissing(String articleUrl);
+    
+    @Query("UPDATE article_state SET isBookmarked = 1, bookmarkedAt = :bookmarkedAt WHERE url = :articleUrl")
+    void setBookmarked(String articleUrl, long bookmarkedAt);
+    
+    @Query("UPDATE article_state SET isDownloadedForOffline = 1, downloadedAt = :downloadedAt " +
+           "WHERE url = :articleUrl")
+    void setDownloaded(String articleUrl, long downloadedAt);
+    
     // Methods for bookmarks functionality
-    @Query("UPDATE articles SET isBookmarked = 1 WHERE url = :articleUrl")
-    void bookmarkArticle(String articleUrl);
+    @Transaction
+    default void bookmarkArticle(String articleUrl) {
+        insertStateIfMissing(articleUrl);
+        setBookmarked(articleUrl, System.currentTimeMillis());
+    }
     
-    @Query("UPDATE articles SET isBookmarked = 0 WHERE url = :articleUrl")
+    /**
+     * Store the article's text if it is new, and bookmark it. Stored text is kept, the
+     * article may be a summary. Its feeds are not touched.
+     */
+    @Transaction
+    default void saveBookmark(Article article) {
+        insertStoredArticles(Collections.singletonList(StoredArticle.from(article)));
+        bookmarkArticle(article.getUrl());
+    }
+    
+    @Query("UPDATE article_state SET isBookmarked = 0 WHERE url = :articleUrl")
     void unbookmarkArticle(String articleUrl);
     
-    @Query("SELECT * FROM articles WHERE isBookmarked = 1 ORDER BY timestamp DESC")
+    @Query("SELECT " + SUMMARY_COLUMNS + ", " + LAST_CATEGORY + " FROM article_state s " +
+           "JOIN articles a ON a.url = s.url WHERE s.isBookmarked = 1 ORDER BY s.bookmarkedAt DESC")
     List<Article> getBookmarkedArticles();
     
-    @Query("SELECT isBookmarked FROM articles WHERE url = :articleUrl")
+    @Query("SELECT COUNT(*) > 0 FROM article_state WHERE url = :articleUrl AND isBookmarked = 1")
     boolean isArticleBookmarked(String articleUrl);
     
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insertArticle(Article article);
-    
-    @Query("SELECT * FROM articles WHERE url = :url")
-    List<Article> getArticlesByUrl(String url);
-    
     // Methods for offline functionality
-    @Query("UPDATE articles SET isDownloadedForOffline = 1 WHERE url = :articleUrl")
-    void markArticleAsDownloaded(String articleUrl);
+    @Transaction
+    default void markArticleAsDownloaded(String articleUrl) {
+        insertStateIfMissing(articleUrl);
+        setDownloaded(articleUrl, System.currentTimeMillis());
+    }
     
-    @Query("UPDATE articles SET isDownloadedForOffline = 0 WHERE url = :articleUrl")
+    @Query("UPDATE article_state SET isDownloadedForOffline = 0 WHERE url = :articleUrl")
     void markArticleAsNotDownloaded(String articleUrl);
     
-    @Query("SELECT isDownloadedForOffline FROM articles WHERE url = :articleUrl")
+    @Query("SELECT COUNT(*) > 0 FROM article_state WHERE url = :articleUrl AND isDownloadedForOffline = 1")
     boolean isArticleDownloadedForOffline(String articleUrl);
     
-    @Query("SELECT * FROM articles WHERE isDownloadedForOffline = 1 ORDER BY timestamp DESC")
+    @Query("SELECT " + SUMMARY_COLUMNS + ", " + LAST_CATEGORY + " FROM article_state s " +
+           "JOIN articles a ON a.url = s.url WHERE s.isDownloadedForOffline = 1 ORDER BY s.downloadedAt DESC")
     List<Article> getDownloadedArticles();
-} 
\ No newline at end of file
+}
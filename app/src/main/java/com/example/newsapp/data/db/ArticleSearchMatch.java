@@ -0,0 +1,14 @@
+package com.example.newsapp.data.db;
+
+/**
+ * An article matched by the full-text index: its key, its publish time for ties and
+ * the FTS4 matchinfo('pcx') blob its relevance is computed from. The article itself
+ * is only read once it ranks among the results.
+ */
+public class ArticleSearchMatch {
+    public String url;
+    
+    public String publishedAt;
+    
+    public byte[] matchInfo;
+}
@@ -2,29 +2,146 @@ package com.example.newsapp.data.db;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
-import com.example.newsapp.data.models.Article;
+import com.example.newsapp.data.models.ArticleFts;
+import com.example.newsapp.data.models.ArticleState;
+import com.example.newsapp.data.models.FeedEntry;
+import com.example.newsapp.data.models.StoredArticle;
 
-@Database(entities = {Article.class}, version = 4, exportSchema = false)
+@Database(entities = {StoredArticle.class, FeedEntry.class, ArticleState.class, ArticleFts.class},
+    version = 9, exportSchema = true)
 public abstract class NewsDatabase extends RoomDatabase {
-    
+
     private static final String DATABASE_NAME = "news_db";
     private static NewsDatabase instance;
+
+    // Version 5 keeps the API's publishedAt
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `articles` ADD COLUMN `publishedAt` TEXT");
+        }
+    };
+
+    // Version 6 indexes the feed, bookmark and offline queries
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_articles_category_isFeatured_publishedAt_timestamp` "
+                + "ON `articles` (`category`, `isFeatured`, `publishedAt`, `timestamp`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_articles_isBookmarked_timestamp` "
+                + "ON `articles` (`isBookmarked`, `timestamp`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_articles_isDownloadedForOffline_timestamp` "
+                + "ON `articles` (`isDownloadedForOffline`, `timestamp`)");
+        }
+    };
+
+    // Version 7 pages feeds by keyset: every row gets a publishedAt, and the feed
+    // index covers the url tie-break
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("UPDATE `articles` SET `publishedAt` = "
+                + "strftime('%Y-%m-%dT%H:%M:%SZ', `timestamp` / 1000, 'unixepoch') WHERE `publishedAt` IS NULL");
+            database.execSQL("DROP INDEX IF EXISTS `index_articles_category_isFeatured_publishedAt_timestamp`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_articles_category_isFeatured_publishedAt_timestamp_url` "
+                + "ON `articles` (`category`, `isFeatured`, `publishedAt`, `timestamp`, `url`)");
+        }
+    };
+
+    // Version 8 adds the full-text index over title, description and content. Room
+    // creates its sync triggers for new databases only, so the migration adds them.
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `articles_fts` USING FTS4("
+                + "`title` TEXT, `description` TEXT, `content` TEXT, tokenize=unicode61, content=`articles`)");
+            createFtsSyncTriggers(database);
+            // Index the articles already cached
+            database.execSQL("INSERT INTO `articles_fts`(`articles_fts`) VALUES ('rebuild')");
+        }
+    };
+    
+    // Version 9 splits articles into their text, feed membership and user state, so
+    // an article listed by two feeds is stored once and refreshes keep bookmarks
+    public static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `feed_entries` (`category` TEXT NOT NULL, "
+                + "`url` TEXT NOT NULL, `isFeatured` INTEGER NOT NULL, `publishedAt` TEXT, "
+                + "`timestamp` INTEGER NOT NULL, PRIMARY KEY(`category`, `url`))");
+            database.execSQL("INSERT INTO `feed_entries` (`category`, `url`, `isFeatured`, `publishedAt`, `timestamp`) "
+                + "SELECT `category`, `url`, `isFeatured`, `publishedAt`, `timestamp` FROM `articles` "
+                + "WHERE `category` IS NOT NULL");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_feed_entries_category_isFeatured_publishedAt_timestamp_url` "
+                + "ON `feed_entries` (`category`, `isFeatured`, `publishedAt`, `timestamp`, `url`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_feed_entries_url` ON `feed_entries` (`url`)");
+            
+            database.execSQL("CREATE TABLE IF NOT EXISTS `article_state` (`url` TEXT NOT NULL, "
+                + "`isBookmarked` INTEGER NOT NULL, `bookmarkedAt` INTEGER NOT NULL, "
+                + "`isDownloadedForOffline` INTEGER NOT NULL, `downloadedAt` INTEGER NOT NULL, PRIMARY KEY(`url`))");
+            database.execSQL("INSERT INTO `article_state` (`url`, `isBookmarked`, `bookmarkedAt`, "
+                + "`isDownloadedForOffline`, `downloadedAt`) SELECT `url`, `isBookmarked`, "
+                + "CASE WHEN `isBookmarked` = 1 THEN `timestamp` ELSE 0 END, `isDownloadedForOffline`, "
+                + "CASE WHEN `isDownloadedForOffline` = 1 THEN `timestamp` ELSE 0 END FROM `articles` "
+                + "WHERE `isBookmarked` = 1 OR `isDownloadedForOffline` = 1");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_article_state_isBookmarked_bookmarkedAt` "
+                + "ON `article_state` (`isBookmarked`, `bookmarkedAt`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_article_state_isDownloadedForOffline_downloadedAt` "
+                + "ON `article_state` (`isDownloadedForOffline`, `downloadedAt`)");
+            
+            // SQLite cannot drop columns here, so the text moves to a new table. Rows keep
+            // their rowid, which the full-text index refers to.
+            database.execSQL("CREATE TABLE IF NOT EXISTS `articles_new` (`url` TEXT NOT NULL, `title` TEXT, "
+                + "`description` TEXT, `urlToImage` TEXT, `content` TEXT, `publishedAt` TEXT, "
+                + "`timestamp` INTEGER NOT NULL, PRIMARY KEY(`url`))");
+            database.execSQL("INSERT INTO `articles_new` (`rowid`, `url`, `title`, `description`, `urlToImage`, "
+                + "`content`, `publishedAt`, `timestamp`) SELECT `rowid`, `url`, `title`, `description`, "
+                + "`urlToImage`, `content`, `publishedAt`, `timestamp` FROM `articles`");
+            // Takes the old indexes and the index sync triggers with it
+            database.execSQL("DROP TABLE `articles`");
+            database.execSQL("ALTER TABLE `articles_new` RENAME TO `articles`");
+            createFtsSyncTriggers(database);
+            database.execSQL("INSERT INTO `articles_fts`(`articles_fts`) VALUES ('rebuild')");
+        }
+    };
     
+    public static final Migration[] ALL_MIGRATIONS =
+        {MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8, MIGRATION_8_9};
+
     public abstract ArticleDao articleDao();
     
+    // The triggers Room keeps articles_fts in step with, for migrations to create
+    private static void createFtsSyncTriggers(SupportSQLiteDatabase database) {
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_articles_fts_BEFORE_UPDATE "
+            + "BEFORE UPDATE ON `articles` BEGIN DELETE FROM `articles_fts` WHERE `docid`=OLD.`rowid`; END");
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_articles_fts_BEFORE_DELETE "
+            + "BEFORE DELETE ON `articles` BEGIN DELETE FROM `articles_fts` WHERE `docid`=OLD.`rowid`; END");
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_articles_fts_AFTER_UPDATE "
+            + "AFTER UPDATE ON `articles` BEGIN INSERT INTO `articles_fts`(`docid`, `title`, `description`, "
+            + "`content`) VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`, NEW.`content`); END");
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_articles_fts_AFTER_INSERT "
+            + "AFTER INSERT ON `articles` BEGIN INSERT INTO `articles_fts`(`docid`, `title`, `description`, "
+            + "`content`) VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`, NEW.`content`); END");
+    }
+
     public static synchronized NewsDatabase getInstance(Context context) {
         if (instance == null) {
             instance = Room.databaseBuilder(
                     context.getApplicationContext(),
                     NewsDatabase.class,
                     DATABASE_NAME)
-                    .fallbackToDestructiveMigration()
+                    .addMigrations(ALL_MIGRATIONS)
+                    // Schemas before version 4 were never exported, those caches are rebuilt
+                    .fallbackToDestructiveMigrationFrom(1, 2, 3)
                     .build();
         }
         return instance;
     }
-} 
\ No newline at end of file
+}
@@ -1,15 +1,14 @@
 package com.example.newsapp.data.models;
 
 import androidx.annotation.NonNull;
-import androidx.room.Entity;
 import androidx.room.Ignore;
-import androidx.room.PrimaryKey;
 
 import com.google.gson.annotations.SerializedName;
 
-@Entity(tableName = "articles")
+// An article as the app shows it. Room assembles it from the article text
+// (StoredArticle), the feed it is read from (FeedEntry) and the user's state
+// (ArticleState); category and isFeatured are those of that feed.
 public class Article {
-    @PrimaryKey
     @NonNull
     private String url = "";
     
@@ -23,6 +22,7 @@ public class Article {
     private boolean isFeatured;
     private long timestamp;
     private String content;
+    private String publishedAt; // ISO-8601 UTC from the API, sorts chronologically as text
     private boolean isBookmarked;
     private boolean isDownloadedForOffline;
     
@@ -100,6 +100,14 @@ public class Article {
         this.content = content;
     }
     
+    public String getPublishedAt() {
+        return publishedAt;
+    }
+    
+    public void setPublishedAt(String publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+    
     public Source getSource() {
         return source;
     }
@@ -0,0 +1,54 @@
+package com.example.newsapp.data.models;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+import androidx.room.PrimaryKey;
+
+// Full-text index over the searchable text of articles. It stores no copy of the
+// text: Room keeps it in step with the articles table through triggers, and a
+// match joins back to articles on rowid.
+@Fts4(contentEntity = StoredArticle.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "articles_fts")
+public class ArticleFts {
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    private int rowId;
+    
+    private String title;
+    private String description;
+    private String content;
+    
+    public int getRowId() {
+        return rowId;
+    }
+    
+    public void setRowId(int rowId) {
+        this.rowId = rowId;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public String getContent() {
+        return content;
+    }
+    
+    public void setContent(String content) {
+        this.content = content;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.newsapp.data.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+// What the user did with an article. Kept apart from the article and its feeds,
+// so refreshing a feed never resets it, and an article with state outlives the
+// feeds that listed it.
+@Entity(tableName = "article_state", indices = {
+    @Index(value = {"isBookmarked", "bookmarkedAt"}),
+    @Index(value = {"isDownloadedForOffline", "downloadedAt"})
+})
+public class ArticleState {
+    @PrimaryKey
+    @NonNull
+    private String url = "";
+    
+    private boolean isBookmarked;
+    private long bookmarkedAt;
+    private boolean isDownloadedForOffline;
+    private long downloadedAt;
+    
+    @NonNull
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(@NonNull String url) {
+        this.url = url;
+    }
+    
+    public boolean isBookmarked() {
+        return isBookmarked;
+    }
+    
+    public void setBookmarked(boolean bookmarked) {
+        isBookmarked = bookmarked;
+    }
+    
+    public long getBookmarkedAt() {
+        return bookmarkedAt;
+    }
+    
+    public void setBookmarkedAt(long bookmarkedAt) {
+        this.bookmarkedAt = bookmarkedAt;
+    }
+    
+    public boolean isDownloadedForOffline() {
+        return isDownloadedForOffline;
+    }
+    
+    public void setDownloadedForOffline(boolean downloadedForOffline) {
+        isDownloadedForOffline = downloadedForOffline;
+    }
+    
+    public long getDownloadedAt() {
+        return downloadedAt;
+    }
+    
+    public void setDownloadedAt(long downloadedAt) {
+        this.downloadedAt = downloadedAt;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.newsapp.data.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Membership of an article in a category feed: its slot (featured or regular) and
+// its rank, publishedAt then timestamp then url. A refresh rewrites these small
+// rows and leaves the article text alone. The first index matches the feed
+// queries including their ORDER BY; the url index serves lookups of an article's feeds.
+@Entity(tableName = "feed_entries", primaryKeys = {"category", "url"}, indices = {
+    @Index(value = {"category", "isFeatured", "publishedAt", "timestamp", "url"}),
+    @Index(value = {"url"})
+})
+public class FeedEntry {
+    @NonNull
+    private String category = "";
+    
+    @NonNull
+    private String url = "";
+    
+    private boolean isFeatured;
+    private String publishedAt;
+    private long timestamp; // When the feed was last written with this article
+    
+    public FeedEntry() {
+        // Required empty constructor
+    }
+    
+    /**
+     * The entry of a normalized article, in the feed and slot it was normalized for
+     */
+    public static FeedEntry from(Article article) {
+        FeedEntry entry = new FeedEntry();
+        entry.setCategory(article.getCategory());
+        entry.setUrl(article.getUrl());
+        entry.setFeatured(article.isFeatured());
+        entry.setPublishedAt(article.getPublishedAt());
+        entry.setTimestamp(article.getTimestamp());
+        return entry;
+    }
+    
+    /**
+     * The entries of normalized articles; articles without a category are in no feed
+     */
+    public static List<FeedEntry> listAll(List<Article> articles) {
+        List<FeedEntry> entries = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            if (article.getCategory() != null) {
+                entries.add(from(article));
+            }
+        }
+        return entries;
+    }
+    
+    @NonNull
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(@NonNull String category) {
+        this.category = category;
+    }
+    
+    @NonNull
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(@NonNull String url) {
+        this.url = url;
+    }
+    
+    public boolean isFeatured() {
+        return isFeatured;
+    }
+    
+    public void setFeatured(boolean featured) {
+        isFeatured = featured;
+    }
+    
+    public String getPublishedAt() {
+        return publishedAt;
+    }
+    
+    public void setPublishedAt(String publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.newsapp.data.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+// The text of an article, stored once however many feeds list it. Which feeds do
+// is in FeedEntry, bookmark and offline state in ArticleState.
+@Entity(tableName = "articles")
+public class StoredArticle {
+    @PrimaryKey
+    @NonNull
+    private String url = "";
+    
+    private String title;
+    private String description;
+    private String urlToImage;
+    private String content;
+    private String publishedAt;
+    private long timestamp; // When the article was first stored
+    
+    public StoredArticle() {
+        // Required empty constructor
+    }
+    
+    public static StoredArticle from(Article article) {
+        StoredArticle stored = new StoredArticle();
+        stored.setUrl(article.getUrl());
+        stored.setTitle(article.getTitle());
+        stored.setDescription(article.getDescription());
+        stored.setUrlToImage(article.getUrlToImage());
+        stored.setContent(article.getContent());
+        stored.setPublishedAt(article.getPublishedAt());
+        stored.setTimestamp(article.getTimestamp());
+        return stored;
+    }
+    
+    @NonNull
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(@NonNull String url) {
+        this.url = url;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public String getUrlToImage() {
+        return urlToImage;
+    }
+    
+    public void setUrlToImage(String urlToImage) {
+        this.urlToImage = urlToImage;
+    }
+    
+    public String getContent() {
+        return content;
+    }
+    
+    public void setContent(String content) {
+        this.content = content;
+    }
+    
+    public String getPublishedAt() {
+        return publishedAt;
+    }
+    
+    public void setPublishedAt(String publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.newsapp.data.repository;
+
+import com.example.newsapp.data.models.Article;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Prepares articles from the API for storage in Room
+ */
+final class ArticleNormalizer {
+
+    private ArticleNormalizer() {
+    }
+
+    /**
+     * Sets category, featured flag and cache timestamp, and makes sure the article
+     * has a primary key by falling back to its title when the URL is missing.
+     * Articles without publishedAt get the cache timestamp, feeds are paged by it.
+     * @return false if the article has neither URL nor title and cannot be stored
+     */
+    static boolean normalize(Article article, String category, boolean isFeatured, long timestamp) {
+        article.setCategory(category);
+        article.setFeatured(isFeatured);
+        article.setTimestamp(timestamp);
+
+        if (article.getUrl() == null || article.getUrl().isEmpty()) {
+            if (article.getTitle() == null || article.getTitle().isEmpty()) {
+                return false;
+            }
+            article.setUrl(article.getTitle());
+        }
+        if (article.getPublishedAt() == null) {
+            article.setPublishedAt(toIsoUtc(timestamp));
+        }
+        return true;
+    }
+
+    // Same format as the API's publishedAt, so both sort together as text
+    private static String toIsoUtc(long millis) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(new Date(millis));
+    }
+}
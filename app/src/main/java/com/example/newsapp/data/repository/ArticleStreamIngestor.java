@@ -0,0 +1,144 @@
+package com.example.newsapp.data.repository;
+
+import android.util.Log;
+
+import com.example.newsapp.data.db.ArticleDao;
+import com.example.newsapp.data.db.NewsDatabase;
+import com.example.newsapp.data.models.Article;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import okhttp3.ResponseBody;
+
+/**
+ * Reads a GNews response body token by token and writes the articles to Room in
+ * bounded batches, without building a NewsResponse first. The body is read on the
+ * calling thread outside any transaction; each batch is written in its own short
+ * transaction on the write executor, so a slow network never holds the database.
+ * The first articles are handed out as soon as they are parsed so the UI can
+ * render before the rest of the body has arrived.
+ */
+class ArticleStreamIngestor {
+    private static final String TAG = "ArticleStreamIngestor";
+    private static final int BATCH_SIZE = 10;
+
+    private final NewsDatabase database;
+    private final TypeAdapter<Article> articleAdapter;
+    private final Executor writeExecutor;
+
+    interface Listener {
+        /**
+         * Called on the reading thread once the first articles have been parsed,
+         * before the rest of the body is read
+         */
+        void onFirstArticles(List<Article> articles);
+    }
+
+    static class Result {
+        final List<Article> articles;
+        final int totalArticles;
+
+        Result(List<Article> articles, int totalArticles) {
+            this.articles = articles;
+            this.totalArticles = totalArticles;
+        }
+    }
+
+    /**
+     * @param writeExecutor serial executor the batches are written on, in order
+     */
+    ArticleStreamIngestor(NewsDatabase database, Gson gson, Executor writeExecutor) {
+        this.database = database;
+        this.articleAdapter = gson.getAdapter(Article.class);
+        this.writeExecutor = writeExecutor;
+    }
+
+    /**
+     * Replace the stored articles of a category with the ones in the body. Must be
+     * called off the main thread and off the write executor; the body is always closed.
+     * The old rows are only deleted together with the first batch, so a body that
+     * fails before any article was parsed leaves them in place.
+     * @param keepCount how many articles to keep in memory and return, the rest are only stored
+     * @param firstCount how many articles to pass to the listener early
+     */
+    Result ingest(ResponseBody body, String category, boolean isFeatured,
+                  int keepCount, int firstCount, Listener listener) throws IOException {
+        long now = System.currentTimeMillis();
+        List<Article> kept = new ArrayList<>();
+        List<Article> batch = new ArrayList<>(BATCH_SIZE);
+        int totalArticles = 0;
+        int stored = 0;
+        boolean firstDelivered = false;
+
+        try (JsonReader reader = new JsonReader(body.charStream())) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("totalArticles".equals(name) && reader.peek() == JsonToken.NUMBER) {
+                    totalArticles = reader.nextInt();
+                } else if ("articles".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        Article article = articleAdapter.read(reader);
+                        if (article == null || !ArticleNormalizer.normalize(article, category, isFeatured, now)) {
+                            continue;
+                        }
+                        batch.add(article);
+                        if (kept.size() < keepCount) {
+                            kept.add(article);
+                        }
+
+                        if (!firstDelivered && kept.size() >= firstCount) {
+                            stored += write(batch, category, isFeatured, stored == 0);
+                            firstDelivered = true;
+                            listener.onFirstArticles(new ArrayList<>(kept));
+                        } else if (batch.size() >= BATCH_SIZE) {
+                            stored += write(batch, category, isFeatured, stored == 0);
+                        }
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (!batch.isEmpty() || stored == 0) {
+                // An empty result still replaces the old rows, like a full body would
+                stored += write(batch, category, isFeatured, stored == 0);
+            }
+        } finally {
+            body.close();
+            // Queued behind the batches, so readers never see the cache of the old rows
+            writeExecutor.execute(() -> FeedMemoryCache.getInstance().invalidate(category));
+        }
+
+        Log.d(TAG, "Queued " + stored + " streamed articles for " + category);
+        return new Result(kept, totalArticles);
+    }
+
+    /**
+     * Hands the batch to the write executor and starts a new one
+     * @return how many articles were queued
+     */
+    private int write(List<Article> batch, String category, boolean isFeatured, boolean replaceOld) {
+        List<Article> articles = new ArrayList<>(batch);
+        batch.clear();
+        writeExecutor.execute(() -> database.runInTransaction(() -> {
+            ArticleDao dao = database.articleDao();
+            if (replaceOld) {
+                dao.deleteArticlesByCategoryAndType(category, isFeatured);
+            }
+            if (!articles.isEmpty()) {
+                dao.insertArticles(articles);
+            }
+        }));
+        return articles.size();
+    }
+}
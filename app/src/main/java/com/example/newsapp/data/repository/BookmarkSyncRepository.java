@@ -57,11 +57,14 @@ public class BookmarkSyncRepository {
                 article.setBookmarked(true);
                 
                 // Save to local database
-                database.articleDao().insertArticle(article);
+                database.articleDao().saveBookmark(article);
+                FeedMemoryCache.getInstance().invalidateAll();
                 
-                // Sync with Firestore if online and logged in
+                // Sync with Firestore if online and logged in. The article may be a list
+                // summary, the stored one has the full text.
                 if (isUserSignedIn() && isNetworkAvailable()) {
-                    syncBookmarkToFirestore(article, callback);
+                    Article stored = database.articleDao().getArticle(article.getUrl());
+                    syncBookmarkToFirestore(stored != null ? stored : article, callback);
                 } else {
                     // Success but no cloud sync
                     if (callback != null) {
@@ -188,6 +191,26 @@ public class BookmarkSyncRepository {
         });
     }
 
+    /**
+     * Future-based {@link #isArticleBookmarked}. Completes on the repository thread;
+     * the check is skipped if the future is cancelled before it runs.
+     */
+    public CancellableFuture<Boolean> isArticleBookmarkedAsync(String articleUrl) {
+        CancellableFuture<Boolean> future = new CancellableFuture<>();
+        executor.execute(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(database.articleDao().isArticleBookmarked(articleUrl));
+            } catch (Exception e) {
+                Log.e(TAG, "Error checking bookmark status", e);
+                future.complete(false);
+            }
+        });
+        return future;
+    }
+
     /**
      * Synchronize bookmarks with Firestore when user logs in
      */
@@ -263,14 +286,15 @@ public class BookmarkSyncRepository {
         // Create a safe document ID from the URL
         String safeDocId = encodeUrlForFirestore(article.getUrl());
         
-        // First save the article data
+        // First save the article data. The document is shared and merged into, so
+        // missing fields are left out rather than written as null over stored text.
         Map<String, Object> articleData = new HashMap<>();
         articleData.put("url", article.getUrl());
-        articleData.put("title", article.getTitle());
-        articleData.put("description", article.getDescription());
-        articleData.put("urlToImage", article.getUrlToImage());
-        articleData.put("content", article.getContent());
-        articleData.put("category", article.getCategory());
+        putIfPresent(articleData, "title", article.getTitle());
+        putIfPresent(articleData, "description", article.getDescription());
+        putIfPresent(articleData, "urlToImage", article.getUrlToImage());
+        putIfPresent(articleData, "content", article.getContent());
+        putIfPresent(articleData, "category", article.getCategory());
         articleData.put("timestamp", article.getTimestamp());
 
         // Save article to Firestore
@@ -417,7 +441,10 @@ public class BookmarkSyncRepository {
                                 articles.add(article);
                                 
                                 // Save to local database
-                                executor.execute(() -> database.articleDao().insertArticle(article));
+                                executor.execute(() -> {
+                                    database.articleDao().saveBookmark(article);
+                                    FeedMemoryCache.getInstance().invalidateAll();
+                                });
                             }
                         } else {
                             hasErrors[0] = true;
@@ -445,7 +472,15 @@ public class BookmarkSyncRepository {
         }
 
         for (Article article : localBookmarks) {
-            syncBookmarkToFirestore(article, null);
+            // The list holds summaries; upload the stored article with its full text
+            Article stored = database.articleDao().getArticle(article.getUrl());
+            syncBookmarkToFirestore(stored != null ? stored : article, null);
+        }
+    }
+
+    private static void putIfPresent(Map<String, Object> data, String key, Object value) {
+        if (value != null) {
+            data.put(key, value);
         }
     }
 
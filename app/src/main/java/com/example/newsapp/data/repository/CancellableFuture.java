@@ -0,0 +1,167 @@
+package com.example.newsapp.data.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * A CompletableFuture that stops the work behind it when it is cancelled or
+ * times out. Producers register the stop action with {@link #onCancel}, e.g.
+ * cancelling an HTTP call, and combinators pass cancellation on to their inputs.
+ */
+public class CancellableFuture<T> extends CompletableFuture<T> {
+
+    // One daemon thread is enough, it only completes futures that ran out of time
+    private static final ScheduledExecutorService timeoutScheduler =
+        Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "future-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    private final List<Runnable> cancelActions = new ArrayList<>();
+    private boolean stopped = false;
+
+    /**
+     * Run the action when this future is cancelled or times out. Runs right away
+     * if that already happened.
+     */
+    public CancellableFuture<T> onCancel(Runnable action) {
+        synchronized (cancelActions) {
+            if (!stopped) {
+                cancelActions.add(action);
+                return this;
+            }
+        }
+        action.run();
+        return this;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            runCancelActions();
+        }
+        return cancelled;
+    }
+
+    /**
+     * Fail with a TimeoutException and stop the work if the future has not
+     * completed within the given time
+     */
+    public CancellableFuture<T> withTimeout(long timeoutMillis) {
+        ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> {
+            if (completeExceptionally(new TimeoutException("Timed out after " + timeoutMillis + " ms"))) {
+                runCancelActions();
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        whenComplete((result, error) -> timeout.cancel(false));
+        return this;
+    }
+
+    private void runCancelActions() {
+        List<Runnable> actions;
+        synchronized (cancelActions) {
+            stopped = true;
+            actions = new ArrayList<>(cancelActions);
+            cancelActions.clear();
+        }
+        for (Runnable action : actions) {
+            action.run();
+        }
+    }
+
+    /**
+     * A future that is already completed with the value
+     */
+    public static <T> CancellableFuture<T> completed(T value) {
+        CancellableFuture<T> future = new CancellableFuture<>();
+        future.complete(value);
+        return future;
+    }
+
+    /**
+     * Combine the results of two futures once both succeed. Fails as soon as either
+     * fails, cancelling the other; cancelling the result cancels both.
+     */
+    public static <A, B, R> CancellableFuture<R> zip(CancellableFuture<A> first, CancellableFuture<B> second,
+                                                     BiFunction<? super A, ? super B, ? extends R> combiner) {
+        CancellableFuture<R> result = new CancellableFuture<>();
+        result.onCancel(() -> {
+            first.cancel(false);
+            second.cancel(false);
+        });
+        first.whenComplete((value, error) -> {
+            if (error != null && result.completeExceptionally(unwrap(error))) {
+                second.cancel(false);
+            }
+        });
+        second.whenComplete((value, error) -> {
+            if (error != null && result.completeExceptionally(unwrap(error))) {
+                first.cancel(false);
+            }
+        });
+        first.thenAcceptBoth(second, (a, b) -> {
+            try {
+                result.complete(combiner.apply(a, b));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Completes when every future has completed, whether it succeeded or not, so
+     * each input can handle its own failure. Cancelling the result cancels all of them.
+     */
+    public static CancellableFuture<Void> allSettled(CancellableFuture<?>... futures) {
+        CancellableFuture<Void> result = new CancellableFuture<>();
+        result.onCancel(() -> {
+            for (CancellableFuture<?> future : futures) {
+                future.cancel(false);
+            }
+        });
+        AtomicInteger remaining = new AtomicInteger(futures.length);
+        if (futures.length == 0) {
+            result.complete(null);
+        }
+        for (CancellableFuture<?> future : futures) {
+            future.whenComplete((value, error) -> {
+                if (remaining.decrementAndGet() == 0) {
+                    result.complete(null);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * The failure behind the wrappers that dependent stages add
+     */
+    public static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * True if the failure means the caller gave up, not that the work failed
+     */
+    public static boolean isCancellation(Throwable error) {
+        return unwrap(error) instanceof CancellationException;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.newsapp.data.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Groups the work a screen has started so all of it can be stopped at once.
+ * Cancelling the scope cancels its futures, which cancels their HTTP calls and
+ * makes their queued repository tasks skip, and drops results that were posted
+ * to the main thread through {@link #mainExecutor()} but have not run yet.
+ */
+public class CancellationScope {
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Set<Runnable> cancelActions = new LinkedHashSet<>();
+    private boolean cancelled = false;
+
+    private final Executor mainExecutor = runnable -> mainHandler.post(() -> {
+        if (isActive()) {
+            runnable.run();
+        }
+    });
+
+    /**
+     * A scope that is cancelled when the owner is destroyed. For fragments, pass
+     * the view lifecycle owner so the scope ends with the view.
+     */
+    public static CancellationScope bindTo(LifecycleOwner owner) {
+        CancellationScope scope = new CancellationScope();
+        owner.getLifecycle().addObserver(new DefaultLifecycleObserver() {
+            @Override
+            public void onDestroy(@NonNull LifecycleOwner source) {
+                source.getLifecycle().removeObserver(this);
+                scope.cancel();
+            }
+        });
+        return scope;
+    }
+
+    /**
+     * Cancel the future when the scope is cancelled. Finished futures are
+     * forgotten, so long-lived scopes do not pile them up.
+     */
+    public <F extends CancellableFuture<?>> F add(F future) {
+        Runnable action = () -> future.cancel(false);
+        onCancel(action);
+        future.whenComplete((result, error) -> remove(action));
+        return future;
+    }
+
+    /**
+     * Run the action when the scope is cancelled, or right away if it already is
+     */
+    public void onCancel(Runnable action) {
+        synchronized (cancelActions) {
+            if (!cancelled) {
+                cancelActions.add(action);
+                return;
+            }
+        }
+        action.run();
+    }
+
+    private void remove(Runnable action) {
+        synchronized (cancelActions) {
+            cancelActions.remove(action);
+        }
+    }
+
+    /**
+     * Runs tasks on the main thread while the scope is active
+     */
+    public Executor mainExecutor() {
+        return mainExecutor;
+    }
+
+    public boolean isActive() {
+        synchronized (cancelActions) {
+            return !cancelled;
+        }
+    }
+
+    public void cancel() {
+        Runnable[] actions;
+        synchronized (cancelActions) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            actions = cancelActions.toArray(new Runnable[0]);
+            cancelActions.clear();
+        }
+        mainHandler.removeCallbacksAndMessages(null);
+        for (Runnable action : actions) {
+            action.run();
+        }
+    }
+}
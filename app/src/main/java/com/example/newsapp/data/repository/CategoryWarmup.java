@@ -0,0 +1,260 @@
+package com.example.newsapp.data.repository;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.newsapp.api.ApiQuotaManager;
+import com.example.newsapp.api.GNewsApiService;
+import com.example.newsapp.api.QuotaExceededException;
+import com.example.newsapp.api.RequestCoalescer;
+import com.example.newsapp.api.RetrofitClient;
+import com.example.newsapp.data.db.ArticleDao;
+import com.example.newsapp.data.db.NewsDatabase;
+import com.example.newsapp.data.models.Article;
+import com.example.newsapp.data.models.NewsResponse;
+import com.example.newsapp.utils.PriorityWorkScheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Fetches the home categories the user is not looking at, a few at a time, and
+ * stores them in one Room transaction so switching categories is answered from
+ * the database. Runs on app start and again whenever an unmetered network comes
+ * up; categories that are still fresh and a low API budget are left alone.
+ */
+public class CategoryWarmup {
+    private static final String TAG = "CategoryWarmup";
+    private static final int MAX_PARALLEL = 2;
+    private static final int MAX_CALLS_PER_RUN = 4;
+    private static final long MIN_INTERVAL_MS = 15 * 60 * 1000;
+
+    // Process-wide, activity recreation must not start another run
+    private static long lastRunAt;
+
+    private final NewsDatabase database;
+    private final GNewsApiService apiService;
+    private final ApiQuotaManager quotaManager;
+    private final RequestCoalescer coalescer = RequestCoalescer.getInstance();
+    private final FeedFreshnessPolicy freshnessPolicy = FeedFreshnessPolicy.getInstance();
+    private final Executor executor = PriorityWorkScheduler.getInstance()
+        .executor(PriorityWorkScheduler.Priority.VISIBLE_PREFETCH);
+    private final ConnectivityManager connectivityManager;
+    private final List<RequestCoalescer.Subscription> subscriptions =
+        Collections.synchronizedList(new ArrayList<>());
+    private ConnectivityManager.NetworkCallback networkCallback;
+    private volatile boolean cancelled;
+    private volatile String visibleCategory;
+
+    public CategoryWarmup(Context context) {
+        Context appContext = context.getApplicationContext();
+        database = NewsDatabase.getInstance(appContext);
+        apiService = RetrofitClient.getRetrofitInstance(appContext).create(GNewsApiService.class);
+        quotaManager = ApiQuotaManager.getInstance(appContext);
+        connectivityManager = (ConnectivityManager) appContext.getSystemService(Context.CONNECTIVITY_SERVICE);
+    }
+
+    /**
+     * Start a run unless one ran recently
+     * @param visibleCategory category the screen loads itself, it is not warmed
+     */
+    public void start(String visibleCategory) {
+        this.visibleCategory = visibleCategory;
+        synchronized (CategoryWarmup.class) {
+            long now = System.currentTimeMillis();
+            if (now - lastRunAt < MIN_INTERVAL_MS) {
+                return;
+            }
+            lastRunAt = now;
+        }
+        executor.execute(this::run);
+    }
+
+    /**
+     * Start a run whenever the device moves to an unmetered network
+     */
+    public void watchUnmeteredNetworks() {
+        if (connectivityManager == null || networkCallback != null) {
+            return;
+        }
+        networkCallback = new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+                if (capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED)
+                        && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED)) {
+                    start(visibleCategory);
+                }
+            }
+        };
+        connectivityManager.registerDefaultNetworkCallback(networkCallback);
+    }
+
+    /**
+     * Stop watching the network and cancel the calls still running. Articles
+     * fetched so far are not stored.
+     */
+    public void stop() {
+        cancelled = true;
+        if (networkCallback != null) {
+            connectivityManager.unregisterNetworkCallback(networkCallback);
+            networkCallback = null;
+        }
+        synchronized (subscriptions) {
+            for (RequestCoalescer.Subscription subscription : subscriptions) {
+                subscription.cancel();
+            }
+            subscriptions.clear();
+        }
+    }
+
+    private void run() {
+        if (cancelled) {
+            return;
+        }
+        if (quotaManager.isBudgetLow()) {
+            Log.d(TAG, "API budget low, skipping category warm-up");
+            return;
+        }
+
+        ArticleDao dao = database.articleDao();
+        Deque<String> stale = new ArrayDeque<>();
+        for (String name : NewsRepository.HOME_CATEGORIES) {
+            String category = name.toLowerCase(Locale.US);
+            if (category.equals(visibleCategory)) {
+                continue;
+            }
+            Long cachedAt = dao.getLatestTimestamp(category);
+            if (freshnessPolicy.evaluate(category, cachedAt) != FeedFreshnessPolicy.State.FRESH) {
+                stale.add(category);
+            }
+            if (stale.size() == MAX_CALLS_PER_RUN) {
+                break;
+            }
+        }
+
+        if (stale.isEmpty()) {
+            Log.d(TAG, "All categories are fresh, nothing to warm");
+            return;
+        }
+        Log.d(TAG, "Warming " + stale);
+        new Run(stale).launchMore();
+    }
+
+    /**
+     * One warm-up pass. Keeps at most MAX_PARALLEL calls in flight and stores the
+     * results once the last call has finished.
+     */
+    private class Run {
+        private final Deque<String> queue;
+        private final Map<String, List<Article>> results = new LinkedHashMap<>();
+        private int inFlight;
+
+        Run(Deque<String> queue) {
+            this.queue = queue;
+        }
+
+        synchronized void launchMore() {
+            while (inFlight < MAX_PARALLEL && !queue.isEmpty() && !cancelled) {
+                String category = queue.poll();
+                inFlight++;
+                fetch(category);
+            }
+        }
+
+        private void fetch(String category) {
+            // One call per category, capped by the plan: the regular feed starts shorter than
+            // the screen shows and continues through load more
+            Call<NewsResponse> call = apiService.getTopHeadlines(category, NewsRepository.LANGUAGE,
+                NewsRepository.COUNTRY, FeedRequestPlanner.resultsPerCall(
+                    NewsRepository.HOME_FEATURED_COUNT + NewsRepository.HOME_REGULAR_COUNT),
+                1, NewsRepository.API_KEY);
+            subscriptions.add(coalescer.enqueue(call, new Callback<NewsResponse>() {
+                @Override
+                public void onResponse(Call<NewsResponse> call, Response<NewsResponse> response) {
+                    List<Article> articles = response.isSuccessful() && response.body() != null
+                        ? response.body().getArticles() : null;
+                    if (articles == null) {
+                        Log.w(TAG, "Warm-up of " + category + " failed with HTTP " + response.code());
+                    }
+                    finished(category, articles, false);
+                }
+
+                @Override
+                public void onFailure(Call<NewsResponse> call, Throwable t) {
+                    Log.w(TAG, "Warm-up of " + category + " failed: " + t.getMessage());
+                    finished(category, null, t instanceof QuotaExceededException);
+                }
+            }));
+        }
+
+        private void finished(String category, List<Article> articles, boolean quotaDenied) {
+            boolean done;
+            synchronized (this) {
+                inFlight--;
+                if (articles != null && !articles.isEmpty()) {
+                    results.put(category, articles);
+                }
+                if (quotaDenied) {
+                    // The budget is what the visible screen needs, leave the rest cold
+                    queue.clear();
+                }
+                done = inFlight == 0 && queue.isEmpty();
+            }
+            if (done) {
+                executor.execute(this::store);
+            } else {
+                launchMore();
+            }
+        }
+
+        private void store() {
+            if (cancelled || results.isEmpty()) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            ArticleDao dao = database.articleDao();
+            database.runInTransaction(() -> {
+                for (Map.Entry<String, List<Article>> entry : results.entrySet()) {
+                    String category = entry.getKey();
+                    List<Article> articles = entry.getValue();
+                    int featuredEnd = Math.min(NewsRepository.HOME_FEATURED_COUNT, articles.size());
+                    dao.updateCategoryArticles(category,
+                        normalize(articles.subList(0, featuredEnd), category, true, now), true);
+                    dao.updateCategoryArticles(category,
+                        normalize(articles.subList(featuredEnd, articles.size()), category, false, now), false);
+                }
+            });
+            for (String category : results.keySet()) {
+                FeedMemoryCache.getInstance().invalidate(category);
+                freshnessPolicy.markValidated(category);
+            }
+            Log.d(TAG, "Stored warmed categories " + results.keySet());
+        }
+    }
+
+    private static List<Article> normalize(List<Article> articles, String category, boolean isFeatured, long now) {
+        List<Article> storable = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            if (ArticleNormalizer.normalize(article, category, isFeatured, now)) {
+                storable.add(article);
+            }
+        }
+        return storable;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.newsapp.data.repository;
+
+import android.util.Log;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decides per category whether the cached feed can be used as is:
+ * <ul>
+ *   <li>FRESH: serve the cache, no network call</li>
+ *   <li>STALE: serve the cache and revalidate it in the background</li>
+ *   <li>EXPIRED: wait for the network, fall back to the cache if that fails</li>
+ * </ul>
+ * The age of a feed is measured from the last successful fetch, or from the
+ * newest stored row when the feed has not been fetched in this process.
+ */
+public class FeedFreshnessPolicy {
+    private static final String TAG = "FeedFreshnessPolicy";
+    private static final long DEFAULT_FRESH_MS = 15 * 60 * 1000;
+    private static final long DEFAULT_STALE_MS = 6 * 60 * 60 * 1000;
+
+    public enum State {
+        FRESH,
+        STALE,
+        EXPIRED
+    }
+
+    private static FeedFreshnessPolicy instance;
+
+    private final Map<String, long[]> ttls = new HashMap<>();
+    private final Map<String, Long> validatedAt = new HashMap<>();
+    private final Map<String, State> lastDecision = new HashMap<>();
+    private final AtomicLongArray decisions = new AtomicLongArray(State.values().length);
+
+    public static synchronized FeedFreshnessPolicy getInstance() {
+        if (instance == null) {
+            instance = new FeedFreshnessPolicy();
+        }
+        return instance;
+    }
+
+    private FeedFreshnessPolicy() {
+        // Scores and results move faster than the other topics
+        setTtl("sports", 5 * 60 * 1000, 2 * 60 * 60 * 1000);
+        setTtl("health", 30 * 60 * 1000, 12 * 60 * 60 * 1000);
+    }
+
+    /**
+     * @param freshMillis age up to which the cache is served without a network call
+     * @param staleMillis age up to which the cache is served while revalidating
+     */
+    public synchronized void setTtl(String category, long freshMillis, long staleMillis) {
+        ttls.put(category, new long[] {freshMillis, Math.max(freshMillis, staleMillis)});
+    }
+
+    /**
+     * Record that the feed of a category was just fetched successfully
+     */
+    public synchronized void markValidated(String category) {
+        validatedAt.put(category, System.currentTimeMillis());
+    }
+
+    /**
+     * @param storedAt newest cache timestamp of the category, null if nothing is cached
+     */
+    public State evaluate(String category, Long storedAt) {
+        State state;
+        long age;
+        synchronized (this) {
+            if (storedAt == null) {
+                age = -1;
+                state = State.EXPIRED;
+            } else {
+                Long validated = validatedAt.get(category);
+                long since = validated != null ? Math.max(validated, storedAt) : storedAt;
+                age = System.currentTimeMillis() - since;
+                long[] ttl = ttls.get(category);
+                long freshMillis = ttl != null ? ttl[0] : DEFAULT_FRESH_MS;
+                long staleMillis = ttl != null ? ttl[1] : DEFAULT_STALE_MS;
+                state = age <= freshMillis ? State.FRESH : age <= staleMillis ? State.STALE : State.EXPIRED;
+            }
+            lastDecision.put(category, state);
+        }
+        decisions.incrementAndGet(state.ordinal());
+        Log.d(TAG, category + " is " + state + (age >= 0 ? " (age " + age / 1000 + " s)" : " (not cached)"));
+        return state;
+    }
+
+    public long getDecisionCount(State state) {
+        return decisions.get(state.ordinal());
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "fresh=%d stale=%d expired=%d last=%s",
+            decisions.get(State.FRESH.ordinal()), decisions.get(State.STALE.ordinal()),
+            decisions.get(State.EXPIRED.ordinal()), lastDecision);
+    }
+}
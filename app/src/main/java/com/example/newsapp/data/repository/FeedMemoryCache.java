@@ -0,0 +1,162 @@
+package com.example.newsapp.data.repository;
+
+import com.example.newsapp.data.models.Article;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Process-wide, size-bounded memory cache of the first rows of the stored feed of
+ * each category and type, in front of {@link com.example.newsapp.data.db.ArticleDao}. Feeds seen
+ * before render without a database read, and on the main thread if need be.
+ *
+ * Writes that change which rows belong to a feed must invalidate it. Bookmark and
+ * offline flags on cached articles may be out of date; screens read those separately.
+ */
+public class FeedMemoryCache {
+    private static final int MAX_ENTRIES = 24;
+    private static final long MAX_BYTES = 2 * 1024 * 1024;
+    // Object headers, fields and list slot of one article, besides its strings
+    private static final int ARTICLE_OVERHEAD_BYTES = 96;
+
+    private static FeedMemoryCache instance;
+
+    private static final class Entry {
+        final List<Article> articles;
+        final Long newestTimestamp;
+        final long bytes;
+
+        Entry(List<Article> articles) {
+            this.articles = Collections.unmodifiableList(new ArrayList<>(articles));
+            long newest = Long.MIN_VALUE;
+            long size = 0;
+            for (Article article : articles) {
+                newest = Math.max(newest, article.getTimestamp());
+                size += estimateBytes(article);
+            }
+            this.newestTimestamp = articles.isEmpty() ? null : newest;
+            this.bytes = size;
+        }
+    }
+
+    // Access order, the eldest entry is the least recently used
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    // Bumped by every invalidation, so a read that raced with a write is not cached
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public static synchronized FeedMemoryCache getInstance() {
+        if (instance == null) {
+            instance = new FeedMemoryCache();
+        }
+        return instance;
+    }
+
+    /**
+     * The cached feed, or null if it has to be read from the database
+     */
+    public synchronized List<Article> get(String category, boolean isFeatured) {
+        Entry entry = entries.get(key(category, isFeatured));
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.articles;
+    }
+
+    /**
+     * Newest stored timestamp of the cached feed, null if it is not cached or empty
+     */
+    public synchronized Long getNewestTimestamp(String category, boolean isFeatured) {
+        Entry entry = entries.get(key(category, isFeatured));
+        return entry != null ? entry.newestTimestamp : null;
+    }
+
+    /**
+     * Call before reading a feed from the database and pass the result to {@link #put}
+     */
+    public synchronized long startLoad() {
+        return generation;
+    }
+
+    /**
+     * Cache a feed read from the database, unless it was invalidated since the read started
+     */
+    public synchronized void put(String category, boolean isFeatured, List<Article> articles, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        Entry entry = new Entry(articles);
+        if (entry.bytes > MAX_BYTES) {
+            return;
+        }
+        Entry previous = entries.put(key(category, isFeatured), entry);
+        if (previous != null) {
+            bytes -= previous.bytes;
+        }
+        bytes += entry.bytes;
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > MAX_ENTRIES || bytes > MAX_BYTES) && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().bytes;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Drop both feeds of a category
+     */
+    public synchronized void invalidate(String category) {
+        generation++;
+        remove(key(category, true));
+        remove(key(category, false));
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        bytes = 0;
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            bytes -= entry.bytes;
+        }
+    }
+
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "%d feeds, %d KB, hits=%d misses=%d (%.0f%%) evicted=%d",
+            entries.size(), bytes / 1024, hits, misses, getHitRate() * 100, evictions);
+    }
+
+    private static String key(String category, boolean isFeatured) {
+        return (isFeatured ? "featured:" : "regular:") + category;
+    }
+
+    private static long estimateBytes(Article article) {
+        return ARTICLE_OVERHEAD_BYTES + 2L * (length(article.getUrl()) + length(article.getTitle())
+            + length(article.getDescription()) + length(article.getContent()) + length(article.getUrlToImage())
+            + length(article.getCategory()) + length(article.getPublishedAt()));
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
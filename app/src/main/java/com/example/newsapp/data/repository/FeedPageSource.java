@@ -0,0 +1,125 @@
+package com.example.newsapp.data.repository;
+
+import android.util.Log;
+
+import com.example.newsapp.data.db.ArticleDao;
+import com.example.newsapp.data.models.Article;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Pages through the regular feed of a category for a list that grows by "load more".
+ * Cached articles are read from Room a page at a time with a keyset query that
+ * continues after the last article shown, so a page costs the same however much is
+ * cached. Once the cache runs out, pages come from the network and are stored as
+ * they arrive.
+ */
+public class FeedPageSource {
+    private static final String TAG = "FeedPageSource";
+
+    private final NewsRepository repository;
+    private final ArticleDao dao;
+    private final Executor executor;
+    private final String category;
+    private final int pageSize;
+
+    // Only touched on the serial repository executor
+    private boolean cacheExhausted;
+    private int networkPage = 1;
+
+    FeedPageSource(NewsRepository repository, ArticleDao dao, Executor executor, String category, int pageSize) {
+        this.repository = repository;
+        this.dao = dao;
+        this.executor = executor;
+        this.category = category;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * The next page after the articles shown so far, without any of them.
+     * Completes on the repository or network thread; fails with {@link NewsLoadException}.
+     */
+    public CancellableFuture<NewsRepository.NewsPage> loadNext(List<Article> shown) {
+        Set<String> shownUrls = new HashSet<>();
+        for (Article article : shown) {
+            shownUrls.add(article.getUrl());
+        }
+        String lastUrl = shown.isEmpty() ? null : shown.get(shown.size() - 1).getUrl();
+
+        CancellableFuture<NewsRepository.NewsPage> future = new CancellableFuture<>();
+        executor.execute(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            if (!cacheExhausted) {
+                List<Article> page = readCachedPage(lastUrl, shownUrls);
+                if (!page.isEmpty()) {
+                    Log.d(TAG, "Read " + page.size() + " cached articles of " + category);
+                    future.complete(new NewsRepository.NewsPage(page, true));
+                    return;
+                }
+                cacheExhausted = true;
+                Log.d(TAG, "Cached " + category + " feed exhausted, continuing from the network");
+            }
+
+            networkPage++;
+            CancellableFuture<NewsRepository.NewsPage> network = repository.loadMoreNewsAsync(category, networkPage);
+            future.onCancel(() -> network.cancel(false));
+            network.whenComplete((result, error) -> {
+                if (error != null) {
+                    future.completeExceptionally(CancellableFuture.unwrap(error));
+                    return;
+                }
+                List<Article> unseen = new ArrayList<>();
+                for (Article article : result.getArticles()) {
+                    if (shownUrls.add(article.getUrl())) {
+                        unseen.add(article);
+                    }
+                }
+                future.complete(new NewsRepository.NewsPage(unseen, result.hasMorePages()));
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Up to a page of stored articles after the last shown one, skipping any shown already
+     */
+    private List<Article> readCachedPage(String lastUrl, Set<String> shownUrls) {
+        Article cursor = lastUrl != null ? findStored(lastUrl) : null;
+        List<Article> page = new ArrayList<>(pageSize);
+        while (page.size() < pageSize) {
+            List<Article> rows = cursor == null
+                ? dao.getFeedPage(category, false, pageSize)
+                : dao.getFeedPageAfter(category, false, cursor.getPublishedAt(), cursor.getTimestamp(),
+                    cursor.getUrl(), pageSize);
+            for (Article row : rows) {
+                if (page.size() < pageSize && !shownUrls.contains(row.getUrl())) {
+                    page.add(row);
+                }
+            }
+            if (rows.size() < pageSize) {
+                break;
+            }
+            cursor = rows.get(rows.size() - 1);
+        }
+        return page;
+    }
+
+    /**
+     * The stored row of an article in this feed, null if the feed no longer has it
+     * and the scan has to start from the top
+     */
+    private Article findStored(String url) {
+        for (Article row : dao.getArticlesByUrl(url)) {
+            if (category.equals(row.getCategory()) && !row.isFeatured() && row.getPublishedAt() != null) {
+                return row;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.newsapp.data.repository;
+
+import com.example.newsapp.data.models.Article;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the feed needs (featured and regular) that are pending for a category
+ * so they can be answered by one API call. Needs are registered from the
+ * repository executor and drained by a dispatch task queued behind them, so
+ * needs issued back to back by the UI end up in the same plan. A need can be
+ * cancelled; the call serving it is cancelled once every need it serves is.
+ */
+class FeedRequestPlanner {
+    // GNews caps max at 10 per call on the free plan the quota is sized for
+    static final int MAX_RESULTS_PER_CALL = 10;
+
+    static class FeedNeed {
+        final boolean isFeatured;
+        final int maxResults;
+        // Answer from the cache, however old, if the fetch fails
+        final boolean cacheFallback;
+        final NewsRepository.NewsCallback callback;
+        // Guarded by the planner
+        private boolean cancelled;
+        private List<FeedNeed> group;
+        private HedgedFetch fetch;
+
+        FeedNeed(boolean isFeatured, int maxResults, boolean cacheFallback, NewsRepository.NewsCallback callback) {
+            this.isFeatured = isFeatured;
+            this.maxResults = maxResults;
+            this.cacheFallback = cacheFallback;
+            this.callback = callback;
+        }
+    }
+
+    private final Map<String, List<FeedNeed>> pending = new HashMap<>();
+
+    /**
+     * @return the registered need, which can be passed to {@link #cancel}
+     */
+    synchronized FeedNeed add(String category, boolean isFeatured, int maxResults, boolean cacheFallback,
+                              NewsRepository.NewsCallback callback) {
+        List<FeedNeed> needs = pending.get(category);
+        if (needs == null) {
+            needs = new ArrayList<>();
+            pending.put(category, needs);
+        }
+        FeedNeed need = new FeedNeed(isFeatured, maxResults, cacheFallback, callback);
+        // Featured needs go first so they get the top results
+        if (isFeatured) {
+            int index = 0;
+            while (index < needs.size() && needs.get(index).isFeatured) {
+                index++;
+            }
+            needs.add(index, need);
+        } else {
+            needs.add(need);
+        }
+        return need;
+    }
+
+    /**
+     * Drop a need. A pending need is skipped by the next dispatch; a dispatched one
+     * cancels its call when the other needs sharing the call are cancelled too.
+     */
+    synchronized void cancel(FeedNeed need) {
+        need.cancelled = true;
+        if (need.fetch != null && allCancelled(need.group)) {
+            need.fetch.cancel();
+        }
+    }
+
+    /**
+     * Record the call that serves a drained group of needs
+     */
+    synchronized void attach(List<FeedNeed> needs, HedgedFetch fetch) {
+        for (FeedNeed need : needs) {
+            need.group = needs;
+            need.fetch = fetch;
+        }
+        if (allCancelled(needs)) {
+            fetch.cancel();
+        }
+    }
+
+    private static boolean allCancelled(List<FeedNeed> needs) {
+        for (FeedNeed need : needs) {
+            if (!need.cancelled) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Take all needs pending for a category
+     * @return the needs that are still wanted, in slice order, empty if another
+     *         dispatch already took them
+     */
+    synchronized List<FeedNeed> drain(String category) {
+        List<FeedNeed> needs = pending.remove(category);
+        List<FeedNeed> wanted = new ArrayList<>();
+        if (needs != null) {
+            for (FeedNeed need : needs) {
+                if (!need.cancelled) {
+                    wanted.add(need);
+                }
+            }
+        }
+        return wanted;
+    }
+
+    /**
+     * Number of results the calls must return together to cover all needs
+     */
+    static int totalResults(List<FeedNeed> needs) {
+        int total = 0;
+        for (FeedNeed need : needs) {
+            total += need.maxResults;
+        }
+        return total;
+    }
+
+    /**
+     * What one call can ask for, never more than the plan allows
+     */
+    static int resultsPerCall(int totalResults) {
+        return Math.min(totalResults, MAX_RESULTS_PER_CALL);
+    }
+
+    /**
+     * Consecutive pages of {@link #resultsPerCall} results needed to cover all needs
+     */
+    static int pagesNeeded(List<FeedNeed> needs) {
+        int total = totalResults(needs);
+        int perCall = resultsPerCall(total);
+        return perCall == 0 ? 0 : (total + perCall - 1) / perCall;
+    }
+
+    /**
+     * Split one response into disjoint consecutive slices, one per need. An article
+     * is stored once per URL, so featured and regular slices must not overlap.
+     * Later needs get fewer (or no) articles when the API returned less than asked.
+     */
+    static List<List<Article>> split(List<Article> articles, List<FeedNeed> needs) {
+        List<List<Article>> slices = new ArrayList<>(needs.size());
+        int start = 0;
+        for (FeedNeed need : needs) {
+            int end = Math.min(articles.size(), start + need.maxResults);
+            slices.add(new ArrayList<>(articles.subList(start, end)));
+            start = end;
+        }
+        return slices;
+    }
+}
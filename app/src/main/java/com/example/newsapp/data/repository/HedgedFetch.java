@@ -0,0 +1,197 @@
+package com.example.newsapp.data.repository;
+
+import android.os.Handler;
+import android.util.Log;
+
+import com.example.newsapp.api.HedgePolicy;
+import com.example.newsapp.api.QuotaExceededException;
+import com.example.newsapp.api.RequestCoalescer;
+import com.example.newsapp.data.models.NewsResponse;
+
+import java.util.function.Supplier;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Runs a primary API call with a fallback. The fallback starts when the primary
+ * fails, or earlier as a hedge when the primary has not answered within the
+ * {@link HedgePolicy} delay. The first successful response wins and the other
+ * call is cancelled; if both fail, the last outcome is reported.
+ * All callbacks arrive on the handler's thread.
+ */
+class HedgedFetch {
+    private static final String TAG = "HedgedFetch";
+
+    private final RequestCoalescer coalescer;
+    private final HedgePolicy policy;
+    private final Handler handler;
+    private final Call<NewsResponse> primaryCall;
+    private final Supplier<Call<NewsResponse>> fallbackFactory;
+    private final Callback<NewsResponse> callback;
+    private final Runnable hedgeTrigger = this::onHedgeDelayElapsed;
+
+    private RequestCoalescer.Subscription primary;
+    private RequestCoalescer.Subscription fallback;
+    private boolean primaryDone;
+    private boolean fallbackStarted;
+    private boolean fallbackDone;
+    private boolean hedged;
+    private boolean finished;
+    private Response<NewsResponse> heldResponse;
+
+    HedgedFetch(RequestCoalescer coalescer, HedgePolicy policy, Handler handler,
+                Call<NewsResponse> primaryCall, Supplier<Call<NewsResponse>> fallbackFactory,
+                Callback<NewsResponse> callback) {
+        this.coalescer = coalescer;
+        this.policy = policy;
+        this.handler = handler;
+        this.primaryCall = primaryCall;
+        this.fallbackFactory = fallbackFactory;
+        this.callback = callback;
+    }
+
+    /**
+     * Start the primary call
+     * @param hedgeDelayMillis delay before hedging, or a negative value to only fall back on failure
+     */
+    synchronized void start(long hedgeDelayMillis) {
+        policy.onPrimaryCall();
+        primary = coalescer.enqueue(primaryCall, new Callback<NewsResponse>() {
+            @Override
+            public void onResponse(Call<NewsResponse> call, Response<NewsResponse> response) {
+                onPrimaryResponse(call, response);
+            }
+
+            @Override
+            public void onFailure(Call<NewsResponse> call, Throwable t) {
+                onPrimaryFailure(call, t);
+            }
+        });
+        if (hedgeDelayMillis >= 0) {
+            handler.postDelayed(hedgeTrigger, hedgeDelayMillis);
+        }
+    }
+
+    /**
+     * Cancel both calls; the callback is not invoked afterwards
+     */
+    synchronized void cancel() {
+        finished = true;
+        handler.removeCallbacks(hedgeTrigger);
+        primary.cancel();
+        if (fallback != null) {
+            fallback.cancel();
+        }
+    }
+
+    private synchronized void onHedgeDelayElapsed() {
+        if (finished || primaryDone || fallbackStarted) {
+            return;
+        }
+        if (!policy.tryAcquireHedge()) {
+            Log.d(TAG, "Primary slow but hedge budget spent, waiting: " + primaryCall.request().url().encodedPath());
+            return;
+        }
+        Log.d(TAG, "Primary slow, hedging with fallback: " + primaryCall.request().url().encodedPath());
+        hedged = true;
+        startFallback();
+    }
+
+    private void startFallback() {
+        fallbackStarted = true;
+        fallback = coalescer.enqueue(fallbackFactory.get(), new Callback<NewsResponse>() {
+            @Override
+            public void onResponse(Call<NewsResponse> call, Response<NewsResponse> response) {
+                onFallbackResponse(call, response);
+            }
+
+            @Override
+            public void onFailure(Call<NewsResponse> call, Throwable t) {
+                onFallbackFailure(call, t);
+            }
+        });
+    }
+
+    private synchronized void onPrimaryResponse(Call<NewsResponse> call, Response<NewsResponse> response) {
+        primaryDone = true;
+        if (finished) {
+            return;
+        }
+        if (response.isSuccessful() || !fallbackStarted || fallbackDone) {
+            // An HTTP error from the primary is final unless a hedge may still succeed
+            deliver(call, response, fallback);
+        } else {
+            heldResponse = response;
+        }
+    }
+
+    private synchronized void onPrimaryFailure(Call<NewsResponse> call, Throwable t) {
+        primaryDone = true;
+        if (finished) {
+            return;
+        }
+        if (t instanceof QuotaExceededException) {
+            // The fallback would be denied as well
+            fail(call, t, fallback);
+        } else if (!fallbackStarted) {
+            Log.e(TAG, "Primary request failed, trying fallback", t);
+            handler.removeCallbacks(hedgeTrigger);
+            startFallback();
+        } else if (fallbackDone) {
+            finishWithHeldOr(call, t);
+        }
+    }
+
+    private synchronized void onFallbackResponse(Call<NewsResponse> call, Response<NewsResponse> response) {
+        fallbackDone = true;
+        if (finished) {
+            return;
+        }
+        if (response.isSuccessful()) {
+            if (hedged && !primaryDone) {
+                policy.onHedgeWon();
+            }
+            deliver(call, response, primary);
+        } else if (primaryDone) {
+            deliver(call, heldResponse != null ? heldResponse : response, null);
+        } else {
+            heldResponse = response;
+        }
+    }
+
+    private synchronized void onFallbackFailure(Call<NewsResponse> call, Throwable t) {
+        fallbackDone = true;
+        if (!finished && primaryDone) {
+            finishWithHeldOr(call, t);
+        }
+    }
+
+    private void finishWithHeldOr(Call<NewsResponse> call, Throwable t) {
+        if (heldResponse != null) {
+            deliver(call, heldResponse, null);
+        } else {
+            fail(call, t, null);
+        }
+    }
+
+    private void deliver(Call<NewsResponse> call, Response<NewsResponse> response,
+                         RequestCoalescer.Subscription loser) {
+        finish(loser);
+        callback.onResponse(call, response);
+    }
+
+    private void fail(Call<NewsResponse> call, Throwable t, RequestCoalescer.Subscription loser) {
+        finish(loser);
+        callback.onFailure(call, t);
+    }
+
+    private void finish(RequestCoalescer.Subscription loser) {
+        finished = true;
+        handler.removeCallbacks(hedgeTrigger);
+        if (loser != null) {
+            loser.cancel();
+        }
+    }
+}
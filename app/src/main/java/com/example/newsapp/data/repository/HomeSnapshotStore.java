@@ -0,0 +1,211 @@
+package com.example.newsapp.data.repository;
+
+import android.content.Context;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import com.example.newsapp.data.models.Article;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Compact binary snapshot of the last home screen that was shown, so a cold
+ * start can render it before Room, Retrofit or the network are touched. Only
+ * the fields the article cards show are kept.
+ */
+public class HomeSnapshotStore {
+    private static final String TAG = "HomeSnapshotStore";
+    private static final String FILE_NAME = "home_snapshot.bin";
+    private static final int MAGIC = 0x48534e50; // "HSNP"
+    private static final int VERSION = 1;
+    private static final int MAX_TEXT_LENGTH = 1024; // Cards show a short description at most
+
+    private static HomeSnapshotStore instance;
+
+    private final AtomicFile file;
+    private FutureTask<Snapshot> pending;
+
+    /**
+     * The articles of one home screen
+     */
+    public static class Snapshot {
+        private final String category;
+        private final long savedAt;
+        private final List<Article> featured;
+        private final List<Article> regular;
+
+        Snapshot(String category, long savedAt, List<Article> featured, List<Article> regular) {
+            this.category = category;
+            this.savedAt = savedAt;
+            this.featured = featured;
+            this.regular = regular;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public long getSavedAt() {
+            return savedAt;
+        }
+
+        public List<Article> getFeatured() {
+            return featured;
+        }
+
+        public List<Article> getRegular() {
+            return regular;
+        }
+    }
+
+    public static synchronized HomeSnapshotStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new HomeSnapshotStore(context);
+        }
+        return instance;
+    }
+
+    private HomeSnapshotStore(Context context) {
+        file = new AtomicFile(new File(context.getApplicationContext().getFilesDir(), FILE_NAME));
+    }
+
+    /**
+     * Start reading the snapshot on a background thread, so {@link #take} does not
+     * wait for the disk. The snapshot is read once per process.
+     */
+    public synchronized void preload() {
+        if (pending == null) {
+            pending = new FutureTask<>(this::read);
+            new Thread(pending, "home-snapshot").start();
+        }
+    }
+
+    /**
+     * The snapshot of the given category, or null if there is none. Hands the
+     * snapshot out once, later screens load from the repository as usual.
+     */
+    public Snapshot take(String category) {
+        FutureTask<Snapshot> task;
+        synchronized (this) {
+            if (pending == null) {
+                pending = new FutureTask<>(this::read);
+                pending.run();
+            }
+            task = pending;
+        }
+        Snapshot snapshot;
+        try {
+            snapshot = task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Error reading home snapshot", e.getCause());
+            return null;
+        }
+        synchronized (this) {
+            // Taken, further calls find nothing
+            pending = new FutureTask<>(() -> null);
+            pending.run();
+        }
+        return snapshot != null && snapshot.category.equals(category) ? snapshot : null;
+    }
+
+    /**
+     * Replace the snapshot. Blocks on the disk, call it off the main thread.
+     */
+    public void save(String category, List<Article> featured, List<Article> regular) {
+        FileOutputStream stream = null;
+        try {
+            stream = file.startWrite();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(category);
+            out.writeLong(System.currentTimeMillis());
+            writeArticles(out, featured);
+            writeArticles(out, regular);
+            out.flush();
+            file.finishWrite(stream);
+            Log.d(TAG, "Saved home snapshot of " + category + " with "
+                + (featured.size() + regular.size()) + " articles");
+        } catch (IOException e) {
+            Log.e(TAG, "Error saving home snapshot", e);
+            if (stream != null) {
+                file.failWrite(stream);
+            }
+        }
+    }
+
+    private Snapshot read() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.openRead()))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                Log.d(TAG, "Ignoring home snapshot of an older format");
+                return null;
+            }
+            String category = in.readUTF();
+            long savedAt = in.readLong();
+            List<Article> featured = readArticles(in, category, true);
+            List<Article> regular = readArticles(in, category, false);
+            return new Snapshot(category, savedAt, featured, regular);
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            Log.e(TAG, "Error reading home snapshot", e);
+            return null;
+        }
+    }
+
+    private static void writeArticles(DataOutputStream out, List<Article> articles) throws IOException {
+        out.writeInt(articles.size());
+        for (Article article : articles) {
+            out.writeUTF(article.getUrl());
+            writeText(out, article.getTitle());
+            writeText(out, article.getDescription());
+            writeText(out, article.getUrlToImage());
+            writeText(out, article.getPublishedAt());
+            out.writeLong(article.getTimestamp());
+        }
+    }
+
+    private static List<Article> readArticles(DataInputStream in, String category, boolean isFeatured)
+            throws IOException {
+        int count = in.readInt();
+        List<Article> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Article article = new Article();
+            article.setUrl(in.readUTF());
+            article.setTitle(readText(in));
+            article.setDescription(readText(in));
+            article.setUrlToImage(readText(in));
+            article.setPublishedAt(readText(in));
+            article.setTimestamp(in.readLong());
+            article.setCategory(category);
+            article.setFeatured(isFeatured);
+            articles.add(article);
+        }
+        return articles;
+    }
+
+    private static void writeText(DataOutputStream out, String text) throws IOException {
+        out.writeBoolean(text != null);
+        if (text != null) {
+            out.writeUTF(text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text);
+        }
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
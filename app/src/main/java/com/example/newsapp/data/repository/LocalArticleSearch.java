@@ -0,0 +1,136 @@
+package com.example.newsapp.data.repository;
+
+import com.example.newsapp.data.db.ArticleDao;
+import com.example.newsapp.data.db.ArticleSearchMatch;
+import com.example.newsapp.data.models.Article;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Searches the articles stored in Room through their full-text index, so a search
+ * answers from the cache and bookmarks without the network. FTS4 has no ranking of
+ * its own; matches are scored from matchinfo the way the SQLite documentation does,
+ * with title hits weighing more than description and content hits.
+ */
+final class LocalArticleSearch {
+    // Weights of the indexed columns, in the order of ArticleFts
+    private static final double[] COLUMN_WEIGHTS = {4.0, 2.0, 1.0};
+    
+    private LocalArticleSearch() {
+    }
+    
+    /**
+     * Stored articles matching every word of the query, best match first. Every match
+     * is ranked, then only the summaries of the best ones are read.
+     */
+    static List<Article> search(ArticleDao dao, String query, int limit) {
+        String match = toMatchQuery(query);
+        if (match == null) {
+            return new ArrayList<>();
+        }
+        List<ArticleSearchMatch> matches = dao.searchArticles(match);
+        List<Scored> scored = new ArrayList<>(matches.size());
+        for (ArticleSearchMatch candidate : matches) {
+            scored.add(new Scored(candidate, score(candidate.matchInfo)));
+        }
+        Collections.sort(scored);
+        
+        List<String> urls = new ArrayList<>(Math.min(limit, scored.size()));
+        for (int i = 0; i < scored.size() && i < limit; i++) {
+            urls.add(scored.get(i).match.url);
+        }
+        if (urls.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Article> byUrl = new HashMap<>();
+        for (Article article : dao.getArticleSummaries(urls)) {
+            byUrl.put(article.getUrl(), article);
+        }
+        List<Article> articles = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            Article article = byUrl.get(url);
+            // Gone if it was cleaned up between the two reads
+            if (article != null) {
+                articles.add(article);
+            }
+        }
+        return articles;
+    }
+    
+    /**
+     * The FTS query for what the user typed: each word as a prefix, all of them
+     * required. Punctuation is dropped so typed text never reads as query syntax.
+     * @return null if the query has no words
+     */
+    static String toMatchQuery(String query) {
+        StringBuilder match = new StringBuilder();
+        for (String word : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append(word).append('*');
+            }
+        }
+        return match.length() > 0 ? match.toString() : null;
+    }
+    
+    /**
+     * Relevance from a matchinfo('pcx') blob: for each query word and column, the
+     * share of the word's hits across all rows that fall in this row, weighted by
+     * column
+     */
+    static double score(byte[] matchInfo) {
+        if (matchInfo == null || matchInfo.length < 8) {
+            return 0;
+        }
+        // matchinfo is an array of 32-bit integers in the byte order of the device
+        ByteBuffer info = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phrases = info.getInt(0);
+        int columns = info.getInt(4);
+        double score = 0;
+        for (int phrase = 0; phrase < phrases; phrase++) {
+            for (int column = 0; column < columns && column < COLUMN_WEIGHTS.length; column++) {
+                int offset = 4 * (2 + 3 * (phrase * columns + column));
+                if (offset + 8 > matchInfo.length) {
+                    return score;
+                }
+                int hitsInRow = info.getInt(offset);
+                int hitsInAllRows = info.getInt(offset + 4);
+                if (hitsInRow > 0 && hitsInAllRows > 0) {
+                    score += COLUMN_WEIGHTS[column] * hitsInRow / hitsInAllRows;
+                }
+            }
+        }
+        return score;
+    }
+    
+    private static class Scored implements Comparable<Scored> {
+        final ArticleSearchMatch match;
+        final double score;
+        
+        Scored(ArticleSearchMatch match, double score) {
+            this.match = match;
+            this.score = score;
+        }
+        
+        @Override
+        public int compareTo(Scored other) {
+            int byScore = Double.compare(other.score, score);
+            if (byScore != 0) {
+                return byScore;
+            }
+            // Equal relevance, newer first. publishedAt is ISO-8601 and sorts as text.
+            String published = match.publishedAt != null ? match.publishedAt : "";
+            String otherPublished = other.match.publishedAt != null ? other.match.publishedAt : "";
+            return otherPublished.compareTo(published);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.newsapp.data.repository;
+
+/**
+ * Failure of a future returned by {@link NewsRepository}. The message is meant
+ * to be shown to the user.
+ */
+public class NewsLoadException extends Exception {
+    public NewsLoadException(String message) {
+        super(message);
+    }
+}
@@ -7,21 +7,28 @@ import android.os.Looper;
 import android.util.Log;
 import android.webkit.WebViewClient;
 
+import com.example.newsapp.api.ApiQuotaManager;
 import com.example.newsapp.api.GNewsApiService;
+import com.example.newsapp.api.HedgePolicy;
+import com.example.newsapp.api.NetworkTelemetry;
+import com.example.newsapp.api.QuotaExceededException;
+import com.example.newsapp.api.RequestCoalescer;
 import com.example.newsapp.api.RetrofitClient;
 import com.example.newsapp.data.db.NewsDatabase;
 import com.example.newsapp.data.models.Article;
 import com.example.newsapp.data.models.NewsResponse;
 import com.example.newsapp.utils.OfflineArticleManager;
+import com.example.newsapp.utils.PriorityWorkScheduler;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -30,90 +37,379 @@ public class NewsRepository {
     
     private static final String TAG = "NewsRepository";
     private static final long CACHE_EXPIRATION_TIME = 24 * 60 * 60 * 1000; // 24 hours in milliseconds
-    private static final String API_KEY = "a271f6f010f9d6cc173bd9ecf0b7ab6b";
-    private static final String LANGUAGE = "en";
-    private static final String COUNTRY = "us";
+    static final String API_KEY = "a271f6f010f9d6cc173bd9ecf0b7ab6b";
+    static final String LANGUAGE = "en";
+    static final String COUNTRY = "us";
     private static final int ARTICLES_PER_PAGE = 5; // Back to 5 articles per page
+    private static final int SEARCH_FIRST_RESULTS = 3; // Search results shown before the body is fully read
+    private static final int MAX_CACHED_PER_CATEGORY = 50; // Merges and appended pages trim the cache to this
+    private static final String HEADLINES_ENDPOINT = "top-headlines"; // Telemetry key of the primary feed call
+    private static final String QUOTA_MESSAGE = "API request limit reached. Using cached data.";
+    
+    // Categories and feed sizes of the home screen, shared with the category warm-up
+    public static final List<String> HOME_CATEGORIES =
+        Arrays.asList("Technology", "Business", "Sports", "Entertainment", "Health");
+    public static final int HOME_FEATURED_COUNT = 5;
+    public static final int HOME_REGULAR_COUNT = 10;
     
     private final NewsDatabase database;
     private final GNewsApiService apiService;
-    private final Executor executor = Executors.newSingleThreadExecutor();
+    private final RequestCoalescer coalescer = RequestCoalescer.getInstance();
+    private final ApiQuotaManager quotaManager;
+    private final HedgePolicy hedgePolicy = HedgePolicy.getInstance();
+    private final FeedRequestPlanner feedPlanner = new FeedRequestPlanner();
+    private final FeedFreshnessPolicy freshnessPolicy = FeedFreshnessPolicy.getInstance();
+    private final FeedMemoryCache memoryCache = FeedMemoryCache.getInstance();
+    private final ArticleStreamIngestor streamIngestor;
+    // Serial, so tasks queued back to back run in order. Cleanup goes to the
+    // maintenance lane and never delays what the user is waiting for.
+    private final Executor executor = PriorityWorkScheduler.getInstance()
+        .executor(PriorityWorkScheduler.Priority.INTERACTIVE);
+    private final Executor maintenanceExecutor = PriorityWorkScheduler.getInstance()
+        .executor(PriorityWorkScheduler.Priority.MAINTENANCE);
+    // Streamed bodies are read here, only their Room writes go through the repository lane
+    private final Executor networkReadExecutor = PriorityWorkScheduler.getInstance()
+        .executor(PriorityWorkScheduler.Priority.NETWORK_READ);
     private final Handler mainHandler = new Handler(Looper.getMainLooper());
-    
-    // Store current loaded pages for categories
-    private final List<Article> currentRegularArticles = new ArrayList<>();
+    // Set while an expiry pass is queued, so a burst of writes schedules only one
+    private final AtomicBoolean expiryQueued = new AtomicBoolean();
     
     // Keep track of total articles retrieved to avoid duplicates
     private int articlesOffset = 0;
     
     private final OfflineArticleManager offlineManager;
+    private final ReadingStats readingStats;
+    private final HomeSnapshotStore snapshotStore;
     
     public NewsRepository(Context context) {
         database = NewsDatabase.getInstance(context);
-        apiService = RetrofitClient.getRetrofitInstance().create(GNewsApiService.class);
+        apiService = RetrofitClient.getRetrofitInstance(context).create(GNewsApiService.class);
+        quotaManager = ApiQuotaManager.getInstance(context);
+        streamIngestor = new ArticleStreamIngestor(database, RetrofitClient.getGson(), executor);
         offlineManager = new OfflineArticleManager(context);
+        readingStats = ReadingStats.getInstance(context);
+        snapshotStore = HomeSnapshotStore.getInstance(context);
     }
     
     public interface NewsCallback {
         void onSuccess(List<Article> articles);
         void onError(String message);
+        
+        /**
+         * Early results delivered while a response is still being read. Followed
+         * by onSuccess or onSuccessWithHasMore with the complete list.
+         */
+        default void onPartialResults(List<Article> articles) {}
     }
     
     public interface PaginatedNewsCallback extends NewsCallback {
         void onSuccessWithHasMore(List<Article> articles, boolean hasMorePages);
     }
     
+    /**
+     * Articles returned by the future-based methods
+     */
+    public static class NewsPage {
+        private final List<Article> articles;
+        private final boolean hasMorePages;
+        
+        NewsPage(List<Article> articles, boolean hasMorePages) {
+            this.articles = articles;
+            this.hasMorePages = hasMorePages;
+        }
+        
+        public List<Article> getArticles() {
+            return articles;
+        }
+        
+        public boolean hasMorePages() {
+            return hasMorePages;
+        }
+    }
+    
+    /**
+     * Completes a future instead of calling back on the main thread. The repository
+     * completes it on whatever thread has the result, and the consumer continues on
+     * the executor it chooses, so there is exactly one hop to the UI.
+     */
+    private static class FutureCallback implements PaginatedNewsCallback {
+        private final CancellableFuture<NewsPage> future;
+        private final Consumer<List<Article>> partialResults;
+        
+        FutureCallback(CancellableFuture<NewsPage> future) {
+            this(future, null);
+        }
+        
+        FutureCallback(CancellableFuture<NewsPage> future, Consumer<List<Article>> partialResults) {
+            this.future = future;
+            this.partialResults = partialResults;
+        }
+        
+        @Override
+        public void onPartialResults(List<Article> articles) {
+            if (partialResults != null && !future.isDone()) {
+                partialResults.accept(articles);
+            }
+        }
+        
+        @Override
+        public void onSuccess(List<Article> articles) {
+            future.complete(new NewsPage(articles, true));
+        }
+        
+        @Override
+        public void onSuccessWithHasMore(List<Article> articles, boolean hasMorePages) {
+            future.complete(new NewsPage(articles, hasMorePages));
+        }
+        
+        @Override
+        public void onError(String message) {
+            future.completeExceptionally(new NewsLoadException(message));
+        }
+    }
+    
     public void getNewsByCategory(String category, boolean isFeatured, int maxResults, NewsCallback callback) {
         // First check database for cached data
         executor.execute(() -> {
-            List<Article> cachedArticles = database.articleDao().getArticlesByCategoryAndType(category, isFeatured);
+            List<Article> cachedArticles = loadFeed(category, isFeatured, maxResults);
+            FeedFreshnessPolicy.State freshness = evaluateFreshness(category, cachedArticles);
+            boolean budgetLow = !cachedArticles.isEmpty() && quotaManager.isBudgetLow();
             
-            // Limit the cached articles to maxResults if not featured
-            if (!cachedArticles.isEmpty()) {
+            // Expired articles are only shown if the network fails, unless the budget rules out asking
+            if (!cachedArticles.isEmpty() && (freshness != FeedFreshnessPolicy.State.EXPIRED || budgetLow)) {
                 Log.d(TAG, "Using cached data for " + category + ", featured=" + isFeatured + 
                           ", count=" + cachedArticles.size());
                 
-                // For non-featured, respect the maxResults parameter
-                final List<Article> finalCachedArticles;
-                if (!isFeatured && cachedArticles.size() > maxResults) {
-                    finalCachedArticles = new ArrayList<>(cachedArticles.subList(0, maxResults));
-                } else {
-                    finalCachedArticles = new ArrayList<>(cachedArticles);
-                }
-                
+                final List<Article> finalCachedArticles = new ArrayList<>(cachedArticles);
                 mainHandler.post(() -> callback.onSuccess(finalCachedArticles));
             } else {
                 Log.d(TAG, "No cached data available for " + category + ", featured=" + isFeatured);
             }
             
-            // Attempt to get fresh data from API
+            // Save the remaining API budget when the cache can already answer
+            if (budgetLow) {
+                Log.d(TAG, "API budget low (" + quotaManager.getRemainingDailyCalls() + 
+                          " calls left today), serving " + category + " from cache only");
+                return;
+            }
+            if (freshness == FeedFreshnessPolicy.State.FRESH) {
+                return;
+            }
+            boolean cacheFallback = !cachedArticles.isEmpty();
+            
+            // Attempt to get fresh data from API. The need is planned rather than fetched
+            // right away so featured and regular needs for the category share one call
             if (isFeatured) {
-                refreshNewsFromApi(category, maxResults, isFeatured, 1, callback);
+                feedPlanner.add(category, true, maxResults, cacheFallback, callback);
             } else {
-                // Clear the list when loading a new category
-                currentRegularArticles.clear();
-                refreshNewsFromApi(category, maxResults, isFeatured, 1, 
+                // Results reach these methods on the main thread already, so they are forwarded as is
+                feedPlanner.add(category, false, maxResults, cacheFallback,
                     new PaginatedNewsCallback() {
                         @Override
                         public void onSuccess(List<Article> articles) {
-                            mainHandler.post(() -> callback.onSuccess(articles));
+                            callback.onSuccess(articles);
                         }
 
                         @Override
                         public void onError(String message) {
-                            mainHandler.post(() -> callback.onError(message));
+                            callback.onError(message);
                         }
 
                         @Override
                         public void onSuccessWithHasMore(List<Article> articles, boolean hasMorePages) {
-                            mainHandler.post(() -> callback.onSuccess(articles));
+                            callback.onSuccess(articles);
                         }
                     });
             }
+            
+            // Runs after any getNewsByCategory task already queued behind this one
+            executor.execute(() -> dispatchPlannedFeeds(category));
         });
     }
     
-    public void loadMoreNews(String category, int page, PaginatedNewsCallback callback) {
+    /**
+     * Cached articles of a category if they are in memory and not expired, else
+     * null. Safe on the main thread, so a category seen before renders at once.
+     */
+    public List<Article> peekCachedNews(String category, boolean isFeatured, int maxResults) {
+        List<Article> cached = memoryCache.get(category, isFeatured);
+        if (cached == null || cached.isEmpty()
+                || evaluateFreshness(category, cached) == FeedFreshnessPolicy.State.EXPIRED) {
+            return null;
+        }
+        return new ArrayList<>(cached.subList(0, Math.min(maxResults, cached.size())));
+    }
+    
+    /**
+     * Read the cached articles of a category that can be shown before the network
+     * answers. Empty when the cache has expired, see {@link FeedFreshnessPolicy}.
+     * Completes on the repository thread.
+     */
+    public CancellableFuture<List<Article>> getCachedNewsAsync(String category, boolean isFeatured, int maxResults) {
+        CancellableFuture<List<Article>> future = new CancellableFuture<>();
+        executor.execute(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            List<Article> cached = loadFeed(category, isFeatured, maxResults);
+            if (evaluateFreshness(category, cached) == FeedFreshnessPolicy.State.EXPIRED
+                    && !quotaManager.isBudgetLow()) {
+                future.complete(new ArrayList<>());
+                return;
+            }
+            future.complete(new ArrayList<>(cached));
+        });
+        return future;
+    }
+    
+    /**
+     * Fetch fresh articles of a category. Featured and regular requests made back to
+     * back share one API call, and cancelling the future drops this request from it.
+     * Fresh cached articles, or any cached articles while the API budget is low, are
+     * returned without a call; expired ones are returned only if the call fails.
+     * Completes on the repository or network thread; fails with {@link NewsLoadException}.
+     */
+    public CancellableFuture<NewsPage> refreshNewsAsync(String category, boolean isFeatured, int maxResults) {
+        CancellableFuture<NewsPage> future = new CancellableFuture<>();
+        executor.execute(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            List<Article> cached = loadFeed(category, isFeatured, maxResults);
+            FeedFreshnessPolicy.State freshness = evaluateFreshness(category, cached);
+            if (!cached.isEmpty() && (freshness == FeedFreshnessPolicy.State.FRESH || quotaManager.isBudgetLow())) {
+                Log.d(TAG, "Serving " + category + " from cache only, "
+                          + (freshness == FeedFreshnessPolicy.State.FRESH ? "cache is fresh" : "API budget low"));
+                future.complete(new NewsPage(new ArrayList<>(cached), true));
+                return;
+            }
+            
+            FeedRequestPlanner.FeedNeed need = feedPlanner.add(category, isFeatured, maxResults,
+                !cached.isEmpty(), new FutureCallback(future));
+            future.onCancel(() -> feedPlanner.cancel(need));
+            executor.execute(() -> dispatchPlannedFeeds(category));
+        });
+        return future;
+    }
+    
+    /**
+     * Page through the regular feed of a category after its first page, from the
+     * cache first and then from the network
+     */
+    public FeedPageSource openRegularFeed(String category) {
+        return new FeedPageSource(this, database.articleDao(), executor, category, ARTICLES_PER_PAGE);
+    }
+    
+    /**
+     * Future-based {@link #loadMoreNews}. Cancelling the future cancels the call.
+     */
+    public CancellableFuture<NewsPage> loadMoreNewsAsync(String category, int page) {
+        CancellableFuture<NewsPage> future = new CancellableFuture<>();
+        RequestCoalescer.Subscription subscription = loadMoreNews(category, page, new FutureCallback(future));
+        future.onCancel(subscription::cancel);
+        return future;
+    }
+    
+    /**
+     * Fetch everything the planner holds for a category with a single API call
+     */
+    private void dispatchPlannedFeeds(String category) {
+        List<FeedRequestPlanner.FeedNeed> needs = feedPlanner.drain(category);
+        if (needs.isEmpty()) {
+            return;
+        }
+        
+        // With a cached feed, only ask for what was published since the newest stored article.
+        // A feed that expiry or trimming left shorter than a need asks for is fetched in full,
+        // since the newer articles alone would never fill it again.
+        String newestPublishedAt = database.articleDao().getNewestPublishedAt(category);
+        if (newestPublishedAt != null && !isShortOfNeeds(category, needs)) {
+            feedPlanner.attach(needs, refreshIncrementally(category, needs, newestPublishedAt));
+            return;
+        }
+        
+        Log.d(TAG, "Planned " + needs.size() + " feed needs for " + category + " into "
+            + FeedRequestPlanner.pagesNeeded(needs) + " call(s), max=" + FeedRequestPlanner.totalResults(needs));
+        fetchPlannedPage(category, needs, 1, new ArrayList<>());
+    }
+    
+    /**
+     * Fetch one page of a plan. Needs that add up to more than one call may ask for
+     * are served by consecutive pages, fetched one after the other so the articles
+     * stay in order; the needs are answered once the last page arrives.
+     * @param collected articles of the pages before this one
+     */
+    private void fetchPlannedPage(String category, List<FeedRequestPlanner.FeedNeed> needs, int page,
+                                  List<Article> collected) {
+        int perCall = FeedRequestPlanner.resultsPerCall(FeedRequestPlanner.totalResults(needs));
+        HedgedFetch fetch = fetchHeadlines(category, perCall, page, null, new Callback<NewsResponse>() {
+            @Override
+            public void onResponse(Call<NewsResponse> call, Response<NewsResponse> response) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    String displayErrorMsg = describeError(response, category);
+                    if (!collected.isEmpty()) {
+                        // Later needs get fewer articles, like a short response
+                        deliverPlanned(category, needs, collected);
+                        return;
+                    }
+                    for (FeedRequestPlanner.FeedNeed need : needs) {
+                        failNeed(category, need, displayErrorMsg);
+                    }
+                    return;
+                }
+                
+                freshnessPolicy.markValidated(category);
+                List<Article> articles = response.body().getArticles();
+                int received = articles != null ? articles.size() : 0;
+                if (articles != null) {
+                    collected.addAll(articles);
+                }
+                if (page < FeedRequestPlanner.pagesNeeded(needs) && received >= perCall) {
+                    fetchPlannedPage(category, needs, page + 1, collected);
+                } else {
+                    deliverPlanned(category, needs, collected);
+                }
+            }
+            
+            @Override
+            public void onFailure(Call<NewsResponse> call, Throwable t) {
+                if (!collected.isEmpty()) {
+                    deliverPlanned(category, needs, collected);
+                    return;
+                }
+                for (FeedRequestPlanner.FeedNeed need : needs) {
+                    handleFetchFailure(t, category, need);
+                }
+            }
+        });
+        // Replaces the fetch of the previous page, which has completed
+        feedPlanner.attach(needs, fetch);
+    }
+    
+    /**
+     * Split the fetched articles of a plan between its needs and answer each one
+     */
+    private void deliverPlanned(String category, List<FeedRequestPlanner.FeedNeed> needs, List<Article> articles) {
+        List<List<Article>> slices = FeedRequestPlanner.split(articles, needs);
+        for (int i = 0; i < needs.size(); i++) {
+            FeedRequestPlanner.FeedNeed need = needs.get(i);
+            List<Article> slice = slices.get(i);
+            if (slice.isEmpty()) {
+                String errorMsg = "API returned success but empty list for " + category;
+                Log.e(TAG, errorMsg);
+                failNeed(category, need, errorMsg);
+            } else {
+                deliverArticles(slice, category, need.maxResults, need.isFeatured, 1, need.callback);
+            }
+        }
+    }
+    
+    /**
+     * Load a page of regular articles for a category from the network and add them
+     * to the cached feed. Articles already shown are not filtered out, see {@link FeedPageSource}.
+     * @return handle to cancel the call; the callback is not invoked after cancelling
+     */
+    public RequestCoalescer.Subscription loadMoreNews(String category, int page, PaginatedNewsCallback callback) {
         Log.d(TAG, "Loading more news for category: " + category + ", page: " + page);
         
         // Calculate offset based on page number - we use ARTICLES_PER_PAGE for consistency
@@ -128,7 +424,7 @@ public class NewsRepository {
             API_KEY                 // API key
         );
         
-        searchCall.enqueue(new Callback<NewsResponse>() {
+        return coalescer.enqueue(searchCall, new Callback<NewsResponse>() {
             @Override
             public void onResponse(Call<NewsResponse> call, Response<NewsResponse> response) {
                 if (response.isSuccessful() && response.body() != null) {
@@ -138,45 +434,14 @@ public class NewsRepository {
                     if (!newArticles.isEmpty()) {
                         Log.d(TAG, "Successfully loaded " + newArticles.size() + " new articles with offset " + offset);
                         
-                        // Filter out duplicates from the new articles based on URL
-                        Set<String> existingUrls = new HashSet<>();
-                        for (Article article : currentRegularArticles) {
-                            if (article.getUrl() != null) {
-                                existingUrls.add(article.getUrl());
-                            }
-                        }
-                        
-                        // Filter out articles we already have by URL
-                        List<Article> uniqueNewArticles = new ArrayList<>();
-                        for (Article article : newArticles) {
-                            if (article.getUrl() != null && !existingUrls.contains(article.getUrl())) {
-                                uniqueNewArticles.add(article);
-                                // Also add to our tracking set
-                                existingUrls.add(article.getUrl());
-                            }
-                        }
-                        
-                        Log.d(TAG, "After filtering duplicates, we have " + uniqueNewArticles.size() + " unique new articles");
-                        
-                        // Save only unique articles to database
-                        if (!uniqueNewArticles.isEmpty()) {
-                            saveArticlesToDb(category, uniqueNewArticles, false);
-                            
-                            // Log titles for debugging
-                            for (Article article : uniqueNewArticles) {
-                                Log.d(TAG, "Loaded: " + article.getTitle());
-                            }
-                        }
+                        // Added to the cached feed, the pages already stored stay
+                        appendArticlesToDb(category, newArticles);
                         
                         // Always show more pages if we got results back
                         boolean hasMorePages = newArticles.size() >= ARTICLES_PER_PAGE;
                         Log.d(TAG, "Setting hasMorePages=" + hasMorePages + " based on received " + newArticles.size() + " >= " + ARTICLES_PER_PAGE);
                         
-                        // Return only the unique new articles
-                        callback.onSuccessWithHasMore(uniqueNewArticles, hasMorePages);
-                        
-                        // Add unique new articles to our tracked list
-                        currentRegularArticles.addAll(uniqueNewArticles);
+                        callback.onSuccessWithHasMore(new ArrayList<>(newArticles), hasMorePages);
                     } else {
                         Log.d(TAG, "API returned empty list for offset " + offset);
                         callback.onSuccessWithHasMore(new ArrayList<>(), false);
@@ -211,194 +476,392 @@ public class NewsRepository {
             
             @Override
             public void onFailure(Call<NewsResponse> call, Throwable t) {
+                if (t instanceof QuotaExceededException) {
+                    callback.onError(QUOTA_MESSAGE);
+                    return;
+                }
                 callback.onError("Network error: " + t.getMessage());
             }
         });
     }
     
-    private void refreshNewsFromApi(String category, int maxResults, boolean isFeatured, 
-                                  int page, NewsCallback callback) {
-        Log.d(TAG, "Fetching from API: category=" + category + ", max=" + maxResults + 
-                  ", featured=" + isFeatured + ", page=" + page);
-        
-        // Try using top-headlines first
-        Call<NewsResponse> call = apiService.getTopHeadlines(
-            category,            // topic
-            LANGUAGE,            // language
-            COUNTRY,             // country
-            maxResults,          // max results
-            page,                // page number
-            API_KEY              // API key
-        );
+    /**
+     * Fetch only the articles published since the newest cached one and merge them
+     * into the cached feed, then answer every need from the merged cache
+     */
+    private HedgedFetch refreshIncrementally(String category, List<FeedRequestPlanner.FeedNeed> needs, String since) {
+        // The newest articles are merged ahead of the stored ones, one call's worth is plenty
+        int totalResults = FeedRequestPlanner.resultsPerCall(FeedRequestPlanner.totalResults(needs));
+        Log.d(TAG, "Incremental refresh for " + category + " since " + since + ", max=" + totalResults);
         
-        call.enqueue(new Callback<NewsResponse>() {
+        return fetchHeadlines(category, totalResults, 1, since, new Callback<NewsResponse>() {
             @Override
             public void onResponse(Call<NewsResponse> call, Response<NewsResponse> response) {
-                handleApiResponse(response, category, maxResults, isFeatured, page, callback);
+                if (!response.isSuccessful() || response.body() == null) {
+                    String displayErrorMsg = describeError(response, category);
+                    for (FeedRequestPlanner.FeedNeed need : needs) {
+                        failNeed(category, need, displayErrorMsg);
+                    }
+                    return;
+                }
+                
+                freshnessPolicy.markValidated(category);
+                List<Article> delta = response.body().getArticles();
+                executor.execute(() -> mergeAndDeliver(category,
+                    delta != null ? delta : new ArrayList<>(), needs));
             }
             
             @Override
             public void onFailure(Call<NewsResponse> call, Throwable t) {
-                // If top-headlines fails, try the search endpoint as fallback
-                Log.e(TAG, "Top-headlines request failed, trying search endpoint", t);
-                
-                Call<NewsResponse> searchCall = apiService.searchNews(
-                    category,    // search query 
-                    maxResults,  // max results
-                    page,        // page
-                    API_KEY      // API key
-                );
-                
-                searchCall.enqueue(new Callback<NewsResponse>() {
-                    @Override
-                    public void onResponse(Call<NewsResponse> call, Response<NewsResponse> response) {
-                        handleApiResponse(response, category, maxResults, isFeatured, page, callback);
-                    }
-                    
-                    @Override
-                    public void onFailure(Call<NewsResponse> call, Throwable t) {
-                        String errorMsg = "Network failure: " + t.getMessage() + " for " + category;
-                        Log.e(TAG, errorMsg, t);
-                        
-                        // Using final local variable for lambda
-                        final String displayErrorMsg = "Network error: " + t.getMessage();
-                        mainHandler.post(() -> callback.onError(displayErrorMsg));
-                    }
-                });
+                for (FeedRequestPlanner.FeedNeed need : needs) {
+                    handleFetchFailure(t, category, need);
+                }
             }
         });
     }
     
-    private void handleApiResponse(Response<NewsResponse> response, String category, 
-                                 int maxResults, boolean isFeatured, int page, NewsCallback callback) {
-        if (response.isSuccessful() && response.body() != null) {
-            NewsResponse newsResponse = response.body();
-            List<Article> articles = newsResponse.getArticles();
-            
-            if (!articles.isEmpty()) {
-                Log.d(TAG, "API success: got " + articles.size() + " articles for " + category + 
-                          " (page " + page + ")");
+    /**
+     * Whether the stored feed has fewer articles than any of the needs asks for
+     */
+    private boolean isShortOfNeeds(String category, List<FeedRequestPlanner.FeedNeed> needs) {
+        for (FeedRequestPlanner.FeedNeed need : needs) {
+            if (database.articleDao().countArticlesByCategoryAndType(category, need.isFeatured) < need.maxResults) {
+                Log.d(TAG, "Cached " + category + " feed is short of " + need.maxResults
+                    + (need.isFeatured ? " featured" : " regular") + " articles, fetching it in full");
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void mergeAndDeliver(String category, List<Article> delta, List<FeedRequestPlanner.FeedNeed> needs) {
+        long currentTime = System.currentTimeMillis();
+        List<Article> storable = new ArrayList<>(delta.size());
+        for (Article article : delta) {
+            if (ArticleNormalizer.normalize(article, category, false, currentTime)) {
+                storable.add(article);
+            }
+        }
+        
+        // Keep as many featured slots as the needs ask for, or as are cached already
+        int featuredSlots = 0;
+        boolean hasFeaturedNeed = false;
+        for (FeedRequestPlanner.FeedNeed need : needs) {
+            if (need.isFeatured) {
+                hasFeaturedNeed = true;
+                featuredSlots += need.maxResults;
+            }
+        }
+        if (!hasFeaturedNeed) {
+            featuredSlots = database.articleDao().countArticlesByCategoryAndType(category, true);
+        }
+        
+        int added = database.articleDao().mergeCategoryArticles(category, storable, featuredSlots,
+            MAX_CACHED_PER_CATEGORY);
+        memoryCache.invalidate(category);
+        scheduleExpiry();
+        Log.d(TAG, "Merged " + added + " new of " + delta.size() + " fetched articles into " + category);
+        
+        int featuredLimit = 0;
+        int regularLimit = 0;
+        for (FeedRequestPlanner.FeedNeed need : needs) {
+            if (need.isFeatured) {
+                featuredLimit = Math.max(featuredLimit, need.maxResults);
+            } else {
+                regularLimit = Math.max(regularLimit, need.maxResults);
+            }
+        }
+        List<Article> featured = loadFeed(category, true, featuredLimit);
+        List<Article> regular = loadFeed(category, false, regularLimit);
+        for (FeedRequestPlanner.FeedNeed need : needs) {
+            List<Article> source = need.isFeatured ? featured : regular;
+            List<Article> slice = new ArrayList<>(source.subList(0, Math.min(need.maxResults, source.size())));
+            if (!need.isFeatured && need.callback instanceof PaginatedNewsCallback) {
+                postResult(need.callback, () -> ((PaginatedNewsCallback) need.callback).onSuccessWithHasMore(slice, true));
+            } else {
+                postResult(need.callback, () -> need.callback.onSuccess(slice));
+            }
+        }
+    }
+    
+    /**
+     * Fetch top headlines for a category, with the search endpoint as fallback
+     * @param since if not null, only articles published at or after this ISO-8601 time
+     * @return the started fetch, for cancelling
+     */
+    private HedgedFetch fetchHeadlines(String category, int maxResults, int page, String since,
+                                Callback<NewsResponse> handler) {
+        // Try using top-headlines first
+        Call<NewsResponse> call = since == null
+            ? apiService.getTopHeadlines(
+                category,            // topic
+                LANGUAGE,            // language
+                COUNTRY,             // country
+                maxResults,          // max results
+                page,                // page number
+                API_KEY              // API key
+            )
+            : apiService.getTopHeadlinesSince(category, LANGUAGE, COUNTRY, maxResults, since, API_KEY);
+        
+        // The search endpoint is the fallback. It starts when top-headlines fails, or
+        // earlier as a hedge when top-headlines is slower than usual
+        HedgedFetch fetch = new HedgedFetch(coalescer, hedgePolicy, mainHandler, call,
+            () -> since == null
+                ? apiService.searchNews(
+                    category,                     // search query 
+                    maxResults,                   // max results
+                    (page - 1) * maxResults,      // offset of the page
+                    API_KEY                       // API key
+                )
+                : apiService.searchNewsSince(category, maxResults, since, API_KEY),
+            handler);
+        
+        // Hedging spends extra calls, so skip it when the daily budget is running low
+        long hedgeDelay = quotaManager.isBudgetLow() ? -1 : hedgePolicy.getHedgeDelayMillis(HEADLINES_ENDPOINT);
+        fetch.start(hedgeDelay);
+        return fetch;
+    }
+    
+    private void handleFetchFailure(Throwable t, String category, FeedRequestPlanner.FeedNeed need) {
+        if (t instanceof QuotaExceededException) {
+            Log.d(TAG, "Quota denied request for " + category + ", answering from database");
+            answerFromDatabase(category, need.isFeatured, need.maxResults, need.callback, QUOTA_MESSAGE);
+            return;
+        }
+        
+        String errorMsg = "Network failure: " + t.getMessage() + " for " + category;
+        Log.e(TAG, errorMsg, t);
+        
+        failNeed(category, need, "Network error: " + t.getMessage());
+    }
+    
+    /**
+     * Report a failed fetch, answering with the expired cache instead when the need allows it
+     */
+    private void failNeed(String category, FeedRequestPlanner.FeedNeed need, String message) {
+        if (need.cacheFallback) {
+            Log.d(TAG, "Fetch failed for " + category + ", falling back to expired cache");
+            answerFromDatabase(category, need.isFeatured, need.maxResults, need.callback, message);
+        } else {
+            postResult(need.callback, () -> need.callback.onError(message));
+        }
+    }
+    
+    /**
+     * Freshness of the cached feed of a category, given its stored articles
+     */
+    private FeedFreshnessPolicy.State evaluateFreshness(String category, List<Article> cached) {
+        Long storedAt = null;
+        for (Article article : cached) {
+            storedAt = storedAt == null ? article.getTimestamp() : Math.max(storedAt, article.getTimestamp());
+        }
+        return freshnessPolicy.evaluate(category, storedAt);
+    }
+    
+    /**
+     * First rows of the stored feed of a category, from memory when at least as many
+     * were read before. Only the rows asked for are read, however long the feed has
+     * grown. Must be called off the main thread; the list must not be modified.
+     */
+    private List<Article> loadFeed(String category, boolean isFeatured, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        List<Article> cached = memoryCache.get(category, isFeatured);
+        if (cached != null && cached.size() >= limit) {
+            return cached.size() > limit ? cached.subList(0, limit) : cached;
+        }
+        long generation = memoryCache.startLoad();
+        List<Article> articles = database.articleDao().getFeedPage(category, isFeatured, limit);
+        memoryCache.put(category, isFeatured, articles, generation);
+        return articles;
+    }
+    
+    /**
+     * Save fetched articles and hand them to the callback
+     */
+    private void deliverArticles(List<Article> articles, String category, int maxResults,
+                                 boolean isFeatured, int page, NewsCallback callback) {
+        Log.d(TAG, "API success: got " + articles.size() + " articles for " + category + 
+                  " (page " + page + ")");
+        
+        // Save to database in background
+        saveArticlesToDb(category, articles, isFeatured);
+        
+        // For regular (non-featured) articles, handle pagination
+        if (!isFeatured) {
+            // For page > 1, we're handling pagination - we want to show just the new articles
+            if (page > 1) {
+                // Log all article titles for debugging
+                Log.d(TAG, "Page " + page + " articles:");
+                for (Article article : articles) {
+                    Log.d(TAG, "- Title: " + article.getTitle());
+                }
                 
-                // Save to database in background
-                saveArticlesToDb(category, articles, isFeatured);
+                // Don't accumulate, just use the new articles for this page
+                final List<Article> pageArticles = new ArrayList<>(articles);
+                boolean hasMorePages = articles.size() >= maxResults;
+                Log.d(TAG, "Pagination: returning " + pageArticles.size() + " NEW articles for page " + page);
                 
-                // For regular (non-featured) articles, handle pagination
-                if (!isFeatured) {
-                    // For page > 1, we're handling pagination - we want to show just the new articles
-                    if (page > 1) {
-                        // Log all article titles for debugging
-                        Log.d(TAG, "Page " + page + " articles:");
-                        for (Article article : articles) {
-                            Log.d(TAG, "- Title: " + article.getTitle());
-                        }
-                        
-                        // Don't accumulate, just use the new articles for this page
-                        final List<Article> pageArticles = new ArrayList<>(articles);
-                        boolean hasMorePages = articles.size() >= maxResults;
-                        Log.d(TAG, "Pagination: returning " + pageArticles.size() + " NEW articles for page " + page);
-                        
-                        // Return only the current page's articles
-                        if (callback instanceof PaginatedNewsCallback) {
-                            final boolean finalHasMore = hasMorePages;
-                            mainHandler.post(() -> ((PaginatedNewsCallback) callback)
-                                .onSuccessWithHasMore(pageArticles, finalHasMore));
-                        } else {
-                            mainHandler.post(() -> callback.onSuccess(pageArticles));
-                        }
-                    } else {
-                        // First page - initialize the list with these articles
-                        currentRegularArticles.clear();
-                        currentRegularArticles.addAll(articles);
-                        
-                        // For first page, always assume there are more pages
-                        boolean hasMorePages = true;
-                        Log.d(TAG, "Setting hasMorePages=" + hasMorePages + " for first page");
-                        
-                        // Return the full list for the first page
-                        if (callback instanceof PaginatedNewsCallback) {
-                            final List<Article> finalArticles = new ArrayList<>(currentRegularArticles);
-                            final boolean finalHasMore = hasMorePages;
-                            mainHandler.post(() -> ((PaginatedNewsCallback) callback)
-                                .onSuccessWithHasMore(finalArticles, finalHasMore));
-                        } else {
-                            final List<Article> finalArticles = new ArrayList<>(currentRegularArticles);
-                            mainHandler.post(() -> callback.onSuccess(finalArticles));
-                        }
-                    }
+                // Return only the current page's articles
+                if (callback instanceof PaginatedNewsCallback) {
+                    final boolean finalHasMore = hasMorePages;
+                    postResult(callback, () -> ((PaginatedNewsCallback) callback)
+                        .onSuccessWithHasMore(pageArticles, finalHasMore));
                 } else {
-                    // Featured articles don't use pagination
-                    final List<Article> finalArticles = new ArrayList<>(articles);
-                    mainHandler.post(() -> callback.onSuccess(finalArticles));
+                    postResult(callback, () -> callback.onSuccess(pageArticles));
                 }
             } else {
-                String errorMsg = "API returned success but empty list for " + category;
-                Log.e(TAG, errorMsg);
-                mainHandler.post(() -> callback.onError(errorMsg));
+                // For first page, always assume there are more pages
+                boolean hasMorePages = true;
+                Log.d(TAG, "Setting hasMorePages=" + hasMorePages + " for first page");
+                
+                // Return the full list for the first page
+                if (callback instanceof PaginatedNewsCallback) {
+                    final List<Article> finalArticles = new ArrayList<>(articles);
+                    final boolean finalHasMore = hasMorePages;
+                    postResult(callback, () -> ((PaginatedNewsCallback) callback)
+                        .onSuccessWithHasMore(finalArticles, finalHasMore));
+                } else {
+                    final List<Article> finalArticles = new ArrayList<>(articles);
+                    postResult(callback, () -> callback.onSuccess(finalArticles));
+                }
             }
         } else {
-            int errorCode = response.code();
-            String errorBody = null;
-            try {
-                errorBody = response.errorBody() != null ? response.errorBody().string() : "null";
-            } catch (Exception e) {
-                errorBody = "Error reading error body: " + e.getMessage();
+            // Featured articles don't use pagination
+            final List<Article> finalArticles = new ArrayList<>(articles);
+            postResult(callback, () -> callback.onSuccess(finalArticles));
+        }
+    }
+    
+    /**
+     * True when nobody waits for the result any more, so the work can be skipped
+     */
+    private static boolean isAbandoned(NewsCallback callback) {
+        return callback instanceof FutureCallback && ((FutureCallback) callback).future.isDone();
+    }
+    
+    /**
+     * Run a result on the main thread, or right away when it completes a future
+     */
+    private void postResult(NewsCallback callback, Runnable result) {
+        if (callback instanceof FutureCallback) {
+            result.run();
+        } else {
+            mainHandler.post(result);
+        }
+    }
+    
+    /**
+     * Log an API error response and build the message shown to the user
+     */
+    private String describeError(Response<NewsResponse> response, String category) {
+        int errorCode = response.code();
+        String errorBody = null;
+        try {
+            errorBody = response.errorBody() != null ? response.errorBody().string() : "null";
+        } catch (Exception e) {
+            errorBody = "Error reading error body: " + e.getMessage();
+        }
+        
+        // Create a log message for debugging
+        String logErrorMsg = "API error: HTTP " + errorCode + " for " + category;
+        Log.e(TAG, logErrorMsg + ", Body: " + errorBody);
+        
+        // Create the final error message to show to the user
+        if (errorCode == 429) {
+            return QUOTA_MESSAGE;
+        }
+        return "Error: " + errorCode + ". Check logs for details.";
+    }
+    
+    /**
+     * Answer a request from Room when the API cannot be used, failing only if
+     * nothing is cached for it
+     * @param errorMessage reported when nothing is cached
+     */
+    private void answerFromDatabase(String category, boolean isFeatured, int maxResults, NewsCallback callback,
+                                    String errorMessage) {
+        executor.execute(() -> {
+            List<Article> cached = loadFeed(category, isFeatured, maxResults);
+            if (cached.isEmpty()) {
+                postResult(callback, () -> callback.onError(errorMessage));
+                return;
             }
             
-            // Create a log message for debugging
-            String logErrorMsg = "API error: HTTP " + errorCode + " for " + category;
-            Log.e(TAG, logErrorMsg + ", Body: " + errorBody);
-            
-            // Create the final error message to show to the user
-            final String displayErrorMsg;
-            if (errorCode == 429) {
-                displayErrorMsg = "API request limit reached. Using cached data.";
+            final List<Article> result = new ArrayList<>(cached);
+            if (callback instanceof PaginatedNewsCallback) {
+                postResult(callback, () -> ((PaginatedNewsCallback) callback).onSuccessWithHasMore(result, false));
             } else {
-                displayErrorMsg = "Error: " + errorCode + ". Check logs for details.";
+                postResult(callback, () -> callback.onSuccess(result));
             }
-            
-            mainHandler.post(() -> callback.onError(displayErrorMsg));
-        }
+        });
+    }
+    
+    /**
+     * Add regular articles to the cached feed of a category, keeping the rows already
+     * stored. The feed is trimmed like a merge, so scrolling cannot grow it without bound.
+     */
+    private void appendArticlesToDb(String category, List<Article> articles) {
+        List<Article> pending = new ArrayList<>(articles);
+        executor.execute(() -> {
+            long currentTime = System.currentTimeMillis();
+            List<Article> storable = new ArrayList<>(pending.size());
+            for (Article article : pending) {
+                if (ArticleNormalizer.normalize(article, category, false, currentTime)) {
+                    storable.add(article);
+                }
+            }
+            database.articleDao().appendCategoryArticles(category, storable, MAX_CACHED_PER_CATEGORY);
+            memoryCache.invalidate(category);
+        });
+        scheduleExpiry();
     }
     
     private void saveArticlesToDb(String category, List<Article> articles, boolean isFeatured) {
         executor.execute(() -> {
             long currentTime = System.currentTimeMillis();
             
-            Log.d(TAG, "Saving articles to database: " + articles.size() + " articles");
-            
-            // Set category, featured status, and timestamp to all articles
+            // Set category, featured status, timestamp and primary key in one pass
+            List<Article> storable = new ArrayList<>(articles.size());
             for (Article article : articles) {
-                article.setCategory(category);
-                article.setFeatured(isFeatured);
-                article.setTimestamp(currentTime);
-                
-                // Ensure URL is set as the primary key
-                if (article.getUrl() == null || article.getUrl().isEmpty()) {
-                    Log.w(TAG, "Article has empty URL, using title as key");
-                    article.setUrl(article.getTitle());
+                if (ArticleNormalizer.normalize(article, category, isFeatured, currentTime)) {
+                    storable.add(article);
                 }
-                
-                // Debug logs for article data
-                Log.d(TAG, "Saving article: " + article.getTitle());
-                Log.d(TAG, "URL: " + article.getUrl());
-                Log.d(TAG, "Image: " + article.getUrlToImage());
             }
+            Log.d(TAG, "Saving " + storable.size() + " articles to database for " + category);
             
             // Update articles in database
-            database.articleDao().updateCategoryArticles(category, articles, isFeatured);
-            
-            // Clean up old cached data
-            database.articleDao().deleteOldArticles(currentTime - CACHE_EXPIRATION_TIME);
+            database.articleDao().updateCategoryArticles(category, storable, isFeatured);
+            memoryCache.invalidate(category);
         });
+        scheduleExpiry();
     }
     
     /**
-     * Reset the state of the articles repository
+     * Drop cached feed entries older than {@link #CACHE_EXPIRATION_TIME}, and the
+     * articles nothing refers to any more, on the maintenance lane. Every path that
+     * writes feed entries calls this, so merged, appended and searched feeds expire too.
      */
-    public void resetArticles() {
-        currentRegularArticles.clear();
-        
-        Log.d(TAG, "Reset articles repository state, cleared cached articles list");
+    private void scheduleExpiry() {
+        if (!expiryQueued.compareAndSet(false, true)) {
+            return;
+        }
+        maintenanceExecutor.execute(() -> {
+            expiryQueued.set(false);
+            long expiredBefore = System.currentTimeMillis() - CACHE_EXPIRATION_TIME;
+            database.articleDao().deleteOldArticles(expiredBefore);
+            memoryCache.invalidateAll();
+        });
+    }
+    
+    /**
+     * Persist the home screen that was just shown, for the next cold start
+     */
+    public void saveHomeSnapshot(String category, List<Article> featured, List<Article> regular) {
+        List<Article> featuredCopy = new ArrayList<>(featured);
+        List<Article> regularCopy = new ArrayList<>(regular);
+        maintenanceExecutor.execute(() -> snapshotStore.save(category, featuredCopy, regularCopy));
     }
     
     /**
@@ -408,48 +871,65 @@ public class NewsRepository {
      * @param callback Callback for search results
      */
     public void searchArticles(String query, int page, PaginatedNewsCallback callback) {
+        startSearch(query, page, callback);
+    }
+    
+    /**
+     * Future-based {@link #searchArticles(String, int, PaginatedNewsCallback)}. Cancelling
+     * the future cancels the call, and an ingest that has not started yet is skipped.
+     * @param partialResults receives the first results on the thread reading the body, may be null
+     */
+    public CancellableFuture<NewsPage> searchArticlesAsync(String query, int page,
+                                                           Consumer<List<Article>> partialResults) {
+        CancellableFuture<NewsPage> future = new CancellableFuture<>();
+        Call<ResponseBody> call = startSearch(query, page, new FutureCallback(future, partialResults));
+        future.onCancel(call::cancel);
+        return future;
+    }
+    
+    /**
+     * Cached and bookmarked articles matching the query, best match first. Read from
+     * the full-text index without touching the network, so it also answers offline.
+     * Completes on the repository thread.
+     */
+    public CancellableFuture<List<Article>> searchLocalAsync(String query, int maxResults) {
+        CancellableFuture<List<Article>> future = new CancellableFuture<>();
+        executor.execute(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            List<Article> articles = LocalArticleSearch.search(database.articleDao(), query, maxResults);
+            Log.d(TAG, "Local search found " + articles.size() + " articles for query: " + query
+                + " in " + (System.currentTimeMillis() - start) + "ms");
+            future.complete(articles);
+        });
+        return future;
+    }
+    
+    private Call<ResponseBody> startSearch(String query, int page, PaginatedNewsCallback callback) {
         Log.d(TAG, "Searching for articles with query: " + query + ", page: " + page);
         
         // Calculate offset based on page number
         int offset = (page - 1) * ARTICLES_PER_PAGE;
         
-        // Use search endpoint which works better for search queries
-        Call<NewsResponse> searchCall = apiService.searchNews(
+        // Use search endpoint which works better for search queries. The body is
+        // streamed straight into Room instead of being parsed into a NewsResponse first.
+        Call<ResponseBody> searchCall = apiService.searchNewsStream(
             query,                  // search query
             ARTICLES_PER_PAGE,      // max results
             offset,                 // offset - calculated from page
             API_KEY                 // API key
         );
         
-        searchCall.enqueue(new Callback<NewsResponse>() {
+        // Not coalesced: a streamed body can only be read by one caller. Repeated
+        // searches are answered by the HTTP cache instead.
+        searchCall.enqueue(new Callback<ResponseBody>() {
             @Override
-            public void onResponse(Call<NewsResponse> call, Response<NewsResponse> response) {
+            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    NewsResponse newsResponse = response.body();
-                    List<Article> articles = newsResponse.getArticles();
-                    
-                    if (!articles.isEmpty()) {
-                        Log.d(TAG, "Search returned " + articles.size() + " articles for query: " + query + ", page: " + page);
-                        
-                        // Add search category and metadata to articles
-                        for (Article article : articles) {
-                            article.setCategory("search_" + query);
-                            article.setFeatured(false);
-                            article.setTimestamp(System.currentTimeMillis());
-                        }
-                        
-                        // Save to database with special search category
-                        saveArticlesToDb("search_" + query, articles, false);
-                        
-                        // Determine if there are more pages based on results count
-                        boolean hasMorePages = articles.size() >= ARTICLES_PER_PAGE;
-                        
-                        // Return articles to caller with pagination info
-                        mainHandler.post(() -> callback.onSuccessWithHasMore(articles, hasMorePages));
-                    } else {
-                        Log.d(TAG, "Search returned empty list for query: " + query + ", page: " + page);
-                        mainHandler.post(() -> callback.onSuccessWithHasMore(new ArrayList<>(), false));
-                    }
+                    ResponseBody body = response.body();
+                    networkReadExecutor.execute(() -> ingestSearchResults(body, query, page, callback));
                 } else {
                     // Create the final error message before using it in lambda
                     String baseErrorMsg = "Failed to search articles";
@@ -474,17 +954,55 @@ public class NewsRepository {
                     }
                     
                     Log.e(TAG, displayErrorMsg);
-                    mainHandler.post(() -> callback.onError(displayErrorMsg));
+                    postResult(callback, () -> callback.onError(displayErrorMsg));
                 }
             }
             
             @Override
-            public void onFailure(Call<NewsResponse> call, Throwable t) {
+            public void onFailure(Call<ResponseBody> call, Throwable t) {
+                if (t instanceof QuotaExceededException) {
+                    // Serve results saved by an earlier identical search, if any
+                    answerFromDatabase("search_" + query, false, ARTICLES_PER_PAGE, callback, QUOTA_MESSAGE);
+                    return;
+                }
                 String errorMsg = "Network error: " + t.getMessage();
                 Log.e(TAG, errorMsg, t);
-                mainHandler.post(() -> callback.onError(errorMsg));
+                postResult(callback, () -> callback.onError(errorMsg));
             }
         });
+        return searchCall;
+    }
+    
+    private void ingestSearchResults(ResponseBody body, String query, int page, PaginatedNewsCallback callback) {
+        if (isAbandoned(callback)) {
+            // Cancelled while queued, nothing is parsed or written
+            body.close();
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            ArticleStreamIngestor.Result result = streamIngestor.ingest(body, "search_" + query, false,
+                ARTICLES_PER_PAGE, SEARCH_FIRST_RESULTS,
+                firstArticles -> postResult(callback, () -> callback.onPartialResults(firstArticles)));
+            
+            NetworkTelemetry.getInstance().recordParse("search stream", System.currentTimeMillis() - start);
+            scheduleExpiry();
+            
+            List<Article> articles = result.articles;
+            Log.d(TAG, "Search returned " + articles.size() + " articles for query: " + query + ", page: " + page);
+            
+            // Determine if there are more pages based on results count
+            boolean hasMorePages = articles.size() >= ARTICLES_PER_PAGE;
+            postResult(callback, () -> callback.onSuccessWithHasMore(articles, hasMorePages));
+        } catch (IOException e) {
+            Log.e(TAG, "Error reading search results for query: " + query, e);
+            postResult(callback, () -> callback.onError("Network error: " + e.getMessage()));
+        } catch (RuntimeException e) {
+            // A well-formed body of the wrong shape fails in JsonReader or the type adapters.
+            // Reported here, or the task would end silently and the search never complete.
+            Log.e(TAG, "Unexpected search response for query: " + query, e);
+            postResult(callback, () -> callback.onError("Unexpected search response: " + e.getMessage()));
+        }
     }
     
     /**
@@ -502,6 +1020,11 @@ public class NewsRepository {
                 callback.onSuccess(articles);
             }
             
+            @Override
+            public void onPartialResults(List<Article> articles) {
+                callback.onPartialResults(articles);
+            }
+            
             @Override
             public void onError(String message) {
                 callback.onError(message);
@@ -525,29 +1048,13 @@ public class NewsRepository {
     public void bookmarkArticle(Article article, NewsCallback callback) {
         executor.execute(() -> {
             try {
-                // Check if we have all the article details needed
-                if (article.getTitle() == null || article.getTitle().isEmpty()) {
-                    // Fetch the article data from the database if it exists
-                    List<Article> existingArticles = database.articleDao().getArticlesByUrl(article.getUrl());
-                    
-                    if (existingArticles != null && !existingArticles.isEmpty()) {
-                        // Use the existing article data
-                        Article existingArticle = existingArticles.get(0);
-                        existingArticle.setBookmarked(true);
-                        database.articleDao().insertArticle(existingArticle);
-                    } else {
-                        // We don't have the article details, just set the URL and bookmark flag
-                        article.setBookmarked(true);
-                        if (article.getTimestamp() == 0) {
-                            article.setTimestamp(System.currentTimeMillis());
-                        }
-                        database.articleDao().insertArticle(article);
-                    }
-                } else {
-                    // We have full article details
-                    article.setBookmarked(true);
-                    database.articleDao().insertArticle(article);
+                if (article.getTimestamp() == 0) {
+                    article.setTimestamp(System.currentTimeMillis());
                 }
+                // Stores the text if it is new, stored text is kept
+                database.articleDao().saveBookmark(article);
+                // Cached feed articles carry the bookmark flag
+                memoryCache.invalidateAll();
                 
                 mainHandler.post(() -> callback.onSuccess(null));
             } catch (Exception e) {
@@ -597,16 +1104,8 @@ public class NewsRepository {
         bookmarkArticle(article, new NewsCallback() {
             @Override
             public void onSuccess(List<Article> articles) {
-                offlineManager.downloadArticleForOffline(article, success -> {
-                    if (success) {
-                        Log.d(TAG, "Article downloaded successfully: " + article.getUrl());
-                        // Update the article object
-                        article.setDownloadedForOffline(true);
-                    } else {
-                        Log.e(TAG, "Failed to download article: " + article.getUrl());
-                    }
-                    mainHandler.post(() -> callback.onDownloadComplete(success));
-                });
+                // The article may be a list summary, the offline copy is made from the full one
+                executor.execute(() -> downloadStoredArticle(article, callback));
             }
             
             @Override
@@ -617,36 +1116,84 @@ public class NewsRepository {
         });
     }
     
+    private void downloadStoredArticle(Article article, OfflineDownloadCallback callback) {
+        Article stored = database.articleDao().getArticle(article.getUrl());
+        offlineManager.downloadArticleForOffline(stored != null ? stored : article, success -> {
+            if (success) {
+                Log.d(TAG, "Article downloaded successfully: " + article.getUrl());
+                // Update the article object
+                article.setDownloadedForOffline(true);
+            } else {
+                Log.e(TAG, "Failed to download article: " + article.getUrl());
+            }
+            mainHandler.post(() -> callback.onDownloadComplete(success));
+        });
+    }
+    
+    /**
+     * Count an opened article towards its category in {@link ReadingStats}.
+     * Search results have no category of their own and are not counted.
+     */
+    public void recordArticleRead(String articleUrl) {
+        maintenanceExecutor.execute(() -> {
+            // An article may be listed by several feeds, the first real category counts
+            for (Article article : database.articleDao().getArticlesByUrl(articleUrl)) {
+                String category = article.getCategory();
+                if (!category.startsWith("search_")) {
+                    readingStats.recordRead(category);
+                    return;
+                }
+            }
+        });
+    }
+    
     /**
      * Check if an article is available for offline reading
      */
     public void isArticleAvailableOffline(String articleUrl, OfflineStatusCallback callback) {
         executor.execute(() -> {
-            boolean isDownloaded = false;
-            try {
-                // Check database first
-                isDownloaded = database.articleDao().isArticleDownloadedForOffline(articleUrl);
-                
-                // Verify if the file actually exists
-                boolean fileExists = offlineManager.isArticleAvailableOffline(articleUrl);
-                
-                // If there's a mismatch, update the database
-                if (isDownloaded && !fileExists) {
-                    database.articleDao().markArticleAsNotDownloaded(articleUrl);
-                    isDownloaded = false;
-                } else if (!isDownloaded && fileExists) {
-                    database.articleDao().markArticleAsDownloaded(articleUrl);
-                    isDownloaded = true;
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "Error checking offline status", e);
-            }
-            
-            final boolean finalStatus = isDownloaded;
+            final boolean finalStatus = checkOfflineAvailability(articleUrl);
             mainHandler.post(() -> callback.onResult(finalStatus));
         });
     }
     
+    /**
+     * Future-based {@link #isArticleAvailableOffline}. Completes on the repository thread;
+     * the check is skipped if the future is cancelled before it runs.
+     */
+    public CancellableFuture<Boolean> isArticleAvailableOfflineAsync(String articleUrl) {
+        CancellableFuture<Boolean> future = new CancellableFuture<>();
+        executor.execute(() -> {
+            if (!future.isDone()) {
+                future.complete(checkOfflineAvailability(articleUrl));
+            }
+        });
+        return future;
+    }
+    
+    private boolean checkOfflineAvailability(String articleUrl) {
+        boolean isDownloaded = false;
+        try {
+            // Check database first
+            isDownloaded = database.articleDao().isArticleDownloadedForOffline(articleUrl);
+            
+            // Verify if the file actually exists
+            boolean fileExists = offlineManager.isArticleAvailableOffline(articleUrl);
+            
+            // If there's a mismatch, update the database
+            if (isDownloaded && !fileExists) {
+                database.articleDao().markArticleAsNotDownloaded(articleUrl);
+                isDownloaded = false;
+            } else if (!isDownloaded && fileExists) {
+                database.articleDao().markArticleAsDownloaded(articleUrl);
+                isDownloaded = true;
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error checking offline status", e);
+        }
+        return isDownloaded;
+    }
+    
     /**
      * Get all articles downloaded for offline reading
      */
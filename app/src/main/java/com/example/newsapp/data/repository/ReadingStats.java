@@ -0,0 +1,49 @@
+package com.example.newsapp.data.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the articles the user opened per category, persisted so background
+ * refreshes can favour what the user actually reads.
+ */
+public class ReadingStats {
+    private static final String PREFS_NAME = "reading_stats";
+
+    private static ReadingStats instance;
+
+    private final SharedPreferences prefs;
+
+    private ReadingStats(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    public static synchronized ReadingStats getInstance(Context context) {
+        if (instance == null) {
+            instance = new ReadingStats(context);
+        }
+        return instance;
+    }
+
+    public synchronized void recordRead(String category) {
+        prefs.edit().putInt(category, prefs.getInt(category, 0) + 1).apply();
+    }
+
+    /**
+     * Categories by number of articles read, most read first
+     */
+    public synchronized List<String> getMostRead(int limit) {
+        List<Map.Entry<String, ?>> entries = new ArrayList<>(prefs.getAll().entrySet());
+        Collections.sort(entries, (a, b) -> Integer.compare((Integer) b.getValue(), (Integer) a.getValue()));
+        List<String> categories = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, entries.size()); i++) {
+            categories.add(entries.get(i).getKey());
+        }
+        return categories;
+    }
+}
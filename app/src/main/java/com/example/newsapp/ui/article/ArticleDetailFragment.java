@@ -28,6 +28,7 @@ import androidx.fragment.app.Fragment;
 import com.example.newsapp.R;
 import com.example.newsapp.data.models.Article;
 import com.example.newsapp.data.repository.BookmarkSyncRepository;
+import com.example.newsapp.data.repository.CancellationScope;
 import com.example.newsapp.data.repository.NewsRepository;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
@@ -46,6 +47,10 @@ public class ArticleDetailFragment extends Fragment {
     private boolean isOfflineMode = false;
     private ProgressBar progressBar;
     private WebView webView;
+    
+    // Status checks started for the view; bookmark and download writes are not
+    // part of it, leaving the screen must not undo what the user asked for
+    private CancellationScope viewScope;
 
     public static ArticleDetailFragment newInstance(String url, boolean isOfflineAvailable) {
         ArticleDetailFragment fragment = new ArticleDetailFragment();
@@ -77,6 +82,10 @@ public class ArticleDetailFragment extends Fragment {
         // Check network status
         isOfflineMode = !isNetworkAvailable();
         
+        if (savedInstanceState == null && articleUrl != null) {
+            newsRepository.recordArticleRead(articleUrl);
+        }
+        
         Log.d(TAG, "Article URL: " + articleUrl);
         Log.d(TAG, "Is offline available: " + isOfflineAvailable);
         Log.d(TAG, "Is offline mode: " + isOfflineMode);
@@ -87,6 +96,7 @@ public class ArticleDetailFragment extends Fragment {
         View view = inflater.inflate(R.layout.fragment_article_detail, container, false);
         webView = view.findViewById(R.id.web_view);
         progressBar = view.findViewById(R.id.progress_bar);
+        viewScope = CancellationScope.bindTo(getViewLifecycleOwner());
         
         // Configure WebView
         setupWebView();
@@ -121,7 +131,7 @@ public class ArticleDetailFragment extends Fragment {
         progressBar.setVisibility(View.VISIBLE);
         
         // First verify offline availability
-        newsRepository.isArticleAvailableOffline(articleUrl, isAvailable -> {
+        viewScope.add(newsRepository.isArticleAvailableOfflineAsync(articleUrl)).thenAcceptAsync(isAvailable -> {
             isOfflineAvailable = isAvailable;
             
             if (isOfflineMode) {
@@ -148,7 +158,7 @@ public class ArticleDetailFragment extends Fragment {
                     webView.loadUrl(articleUrl);
                 }
             }
-        });
+        }, viewScope.mainExecutor());
     }
     
     private void showOfflineNotAvailableMessage() {
@@ -171,18 +181,16 @@ public class ArticleDetailFragment extends Fragment {
         
         // Verify offline status
         if (articleUrl != null) {
-            newsRepository.isArticleAvailableOffline(articleUrl, isAvailable -> {
-                isOfflineAvailable = isAvailable;
-            });
+            viewScope.add(newsRepository.isArticleAvailableOfflineAsync(articleUrl))
+                .thenAcceptAsync(isAvailable -> isOfflineAvailable = isAvailable, viewScope.mainExecutor());
         }
     }
     
     private void checkBookmarkStatus() {
         if (articleUrl == null) return;
         
-        bookmarkSyncRepository.isArticleBookmarked(articleUrl, bookmarked -> {
-            isBookmarked = bookmarked;
-        });
+        viewScope.add(bookmarkSyncRepository.isArticleBookmarkedAsync(articleUrl))
+            .thenAcceptAsync(bookmarked -> isBookmarked = bookmarked, viewScope.mainExecutor());
     }
     
     private void bookmarkArticle() {
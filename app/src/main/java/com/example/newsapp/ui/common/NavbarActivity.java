@@ -8,6 +8,9 @@ import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
 
 import com.example.newsapp.LoginActivity;
+import com.example.newsapp.api.NetworkReplay;
+import com.example.newsapp.data.repository.CategoryWarmup;
+import com.example.newsapp.data.repository.HomeSnapshotStore;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
@@ -16,14 +19,29 @@ import com.example.newsapp.ui.profile.ProfileFragment;
 import com.example.newsapp.ui.home.HomeFragment;
 import com.example.newsapp.ui.search.SearchFragment;
 import com.example.newsapp.ui.bookmarks.BookmarksFragment;
+import com.example.newsapp.utils.FeedRefreshJobService;
+import com.example.newsapp.utils.NetworkWarmup;
 
 public class NavbarActivity extends AppCompatActivity {
     private BottomNavigationView bottomNavigationView;
     private FirebaseAuth mAuth;
+    private NetworkWarmup networkWarmup;
+    private CategoryWarmup categoryWarmup;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        
+        // Read the last home screen from disk while everything else starts
+        HomeSnapshotStore.getInstance(this).preload();
+        
+        // Restore a debug record/replay mode before any request goes out
+        NetworkReplay.getInstance(this);
+        
+        // Connect to the API and image hosts while the UI inflates
+        networkWarmup = new NetworkWarmup(this);
+        networkWarmup.start();
+        
         setContentView(R.layout.activity_navbar);
 
         // Initialize Firebase Auth
@@ -40,6 +58,13 @@ public class NavbarActivity extends AppCompatActivity {
 
         // Load the HomeFragment by default
         loadFragment(new HomeFragment());
+        
+        // Cache the other home categories so switching to them needs no network
+        categoryWarmup = new CategoryWarmup(this);
+        categoryWarmup.start(HomeFragment.DEFAULT_CATEGORY);
+        categoryWarmup.watchUnmeteredNetworks();
+        // Keep the cache warm while the app is not used
+        FeedRefreshJobService.schedule(this);
 
         // Setup bottom navigation
         setupBottomNavigation();
@@ -48,6 +73,17 @@ public class NavbarActivity extends AppCompatActivity {
         bottomNavigationView.setSelectedItemId(R.id.navigation_home);
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (networkWarmup != null) {
+            networkWarmup.cancel();
+        }
+        if (categoryWarmup != null) {
+            categoryWarmup.stop();
+        }
+    }
+
     private void loadFragment(Fragment fragment) {
         FragmentManager fragmentManager = getSupportFragmentManager();
         FragmentTransaction fragmentTransaction = fragmentManager.beginTransaction();
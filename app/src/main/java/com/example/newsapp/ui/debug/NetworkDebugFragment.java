@@ -0,0 +1,162 @@
+package com.example.newsapp.ui.debug;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
+import android.widget.ImageView;
+import android.widget.RadioGroup;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+
+import com.example.newsapp.R;
+import com.example.newsapp.api.HedgePolicy;
+import com.example.newsapp.api.NetworkReplay;
+import com.example.newsapp.api.NetworkTelemetry;
+import com.example.newsapp.api.RetrofitClient;
+import com.example.newsapp.data.repository.FeedFreshnessPolicy;
+import com.example.newsapp.data.repository.FeedMemoryCache;
+import com.example.newsapp.utils.PriorityWorkScheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Debug screen showing per-endpoint network telemetry and HTTP cache stats, and
+ * switching the record/replay network mode.
+ * Reached by long-pressing the version number on the About screen.
+ */
+public class NetworkDebugFragment extends Fragment {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private TextView reportText;
+
+    @Override
+    public View onCreateView(LayoutInflater inflater, ViewGroup container,
+                             Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_network_debug, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        // Setup back button
+        ImageView btnBack = view.findViewById(R.id.btn_back);
+        btnBack.setOnClickListener(v -> requireActivity().getSupportFragmentManager().popBackStack());
+
+        reportText = view.findViewById(R.id.telemetry_report);
+
+        view.findViewById(R.id.btn_refresh_telemetry).setOnClickListener(v -> showReport());
+        view.findViewById(R.id.btn_reset_telemetry).setOnClickListener(v -> {
+            NetworkTelemetry.getInstance().reset();
+            showReport();
+        });
+        view.findViewById(R.id.btn_dump_telemetry).setOnClickListener(v -> dumpReport());
+
+        setupReplayControls(view);
+        showReport();
+    }
+
+    private void setupReplayControls(View view) {
+        NetworkReplay replay = NetworkReplay.getInstance(requireContext());
+        RadioGroup modeGroup = view.findViewById(R.id.replay_mode_group);
+        EditText latencyInput = view.findViewById(R.id.replay_latency_input);
+        EditText errorInput = view.findViewById(R.id.replay_error_input);
+
+        switch (replay.getMode()) {
+            case RECORD:
+                modeGroup.check(R.id.replay_mode_record);
+                break;
+            case REPLAY:
+                modeGroup.check(R.id.replay_mode_replay);
+                break;
+            default:
+                modeGroup.check(R.id.replay_mode_off);
+                break;
+        }
+        latencyInput.setText(String.valueOf(replay.getLatencyMillis()));
+        errorInput.setText(String.valueOf(Math.round(replay.getErrorRate() * 100)));
+
+        modeGroup.setOnCheckedChangeListener((group, checkedId) -> {
+            if (checkedId == R.id.replay_mode_record) {
+                replay.setMode(NetworkReplay.Mode.RECORD);
+            } else if (checkedId == R.id.replay_mode_replay) {
+                replay.setMode(NetworkReplay.Mode.REPLAY);
+            } else {
+                replay.setMode(NetworkReplay.Mode.OFF);
+            }
+            showReport();
+        });
+
+        view.findViewById(R.id.btn_apply_replay).setOnClickListener(v -> {
+            try {
+                replay.setLatencyMillis(Long.parseLong(latencyInput.getText().toString().trim()));
+                replay.setErrorRate(Integer.parseInt(errorInput.getText().toString().trim()) / 100.0);
+                showReport();
+            } catch (NumberFormatException e) {
+                Toast.makeText(requireContext(), "Enter whole numbers", Toast.LENGTH_SHORT).show();
+            }
+        });
+
+        view.findViewById(R.id.btn_clear_fixtures).setOnClickListener(v -> {
+            replay.getFixtures().clear();
+            showReport();
+        });
+    }
+
+    private void showReport() {
+        reportText.setText(buildReport());
+    }
+
+    private String buildReport() {
+        return "Replay: " + NetworkReplay.getInstance(requireContext()) + "\n"
+            + "HTTP cache: " + RetrofitClient.getCacheStats() + "\n"
+            + "Hedging: " + HedgePolicy.getInstance() + "\n"
+            + "Freshness: " + FeedFreshnessPolicy.getInstance() + "\n"
+            + "Feed memory cache: " + FeedMemoryCache.getInstance() + "\n\n"
+            + "Work queues:\n" + PriorityWorkScheduler.getInstance().dump() + "\n"
+            + NetworkTelemetry.getInstance().dump();
+    }
+
+    private void dumpReport() {
+        File directory = requireContext().getExternalFilesDir("telemetry");
+        if (directory == null) {
+            directory = new File(requireContext().getFilesDir(), "telemetry");
+        }
+        File target = directory;
+
+        // File I/O stays off the main thread
+        executor.execute(() -> {
+            String message;
+            try {
+                File file = NetworkTelemetry.getInstance().dumpToFile(target);
+                message = "Saved to " + file.getAbsolutePath();
+            } catch (IOException e) {
+                message = "Failed to save report: " + e.getMessage();
+            }
+            String toastMessage = message;
+            mainHandler.post(() -> {
+                if (isAdded()) {
+                    Toast.makeText(requireContext(), toastMessage, Toast.LENGTH_LONG).show();
+                }
+            });
+        });
+    }
+
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        executor.shutdown();
+    }
+}
@@ -14,19 +14,24 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.newsapp.R;
 import com.example.newsapp.data.models.Article;
+import com.example.newsapp.data.repository.CancellableFuture;
+import com.example.newsapp.data.repository.CancellationScope;
+import com.example.newsapp.data.repository.FeedPageSource;
+import com.example.newsapp.data.repository.HomeSnapshotStore;
 import com.example.newsapp.data.repository.NewsRepository;
 import com.example.newsapp.data.repository.BookmarkSyncRepository;
 import com.google.android.material.snackbar.Snackbar;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.LinkedHashSet;
 import java.util.HashSet;
+import java.util.concurrent.TimeoutException;
 
 public class HomeFragment extends Fragment {
     private static final String TAG = "HomeFragment";
+    public static final String DEFAULT_CATEGORY = "technology";
     
     private RecyclerView categoriesRecyclerView;
     private RecyclerView featuredRecyclerView;
@@ -43,8 +48,8 @@ public class HomeFragment extends Fragment {
     private CategoryAdapter categoryAdapter;
     private NewsAdapter featuredAdapter;
     private NewsAdapter newsAdapter;
-    private List<String> categories = Arrays.asList("Technology", "Business", "Sports", "Entertainment", "Health");
-    private String currentCategory = "technology";
+    private List<String> categories = NewsRepository.HOME_CATEGORIES;
+    private String currentCategory = DEFAULT_CATEGORY;
     
     private NewsRepository newsRepository;
     private BookmarkSyncRepository bookmarkSyncRepository;
@@ -55,9 +60,21 @@ public class HomeFragment extends Fragment {
     private boolean hasMorePages = false;
     private boolean isLoadingMore = false;
 
-    // Loading timeout variables
+    private static final int FEATURED_COUNT = NewsRepository.HOME_FEATURED_COUNT;
+    private static final int REGULAR_COUNT = NewsRepository.HOME_REGULAR_COUNT;
     private static final long LOADING_TIMEOUT = 10000; // 10 seconds
-    private Runnable timeoutRunnable;
+    
+    // Loads in progress, cancelled when replaced. The view scope cancels them
+    // when the view goes away and drops their results if already posted.
+    private CancellationScope viewScope;
+    private CancellableFuture<Void> feedLoad;
+    private CancellableFuture<NewsRepository.NewsPage> pageLoad;
+    private FeedPageSource regularPages;
+    
+    // Last home screen of the previous run, shown once until cached or fresh articles replace it
+    private HomeSnapshotStore.Snapshot startupSnapshot;
+    private boolean featuredFromSnapshot;
+    private boolean regularFromSnapshot;
 
     private static final int MAX_RETRY_PAGES = 3; // Maximum number of pages to try when looking for new articles
     private int retryCount = 0;
@@ -66,9 +83,13 @@ public class HomeFragment extends Fragment {
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         rootView = inflater.inflate(R.layout.fragment_home, container, false);
         
+        // Before the repositories, so it does not wait for Room or Retrofit to initialize
+        startupSnapshot = HomeSnapshotStore.getInstance(requireContext()).take(currentCategory);
+        
         // Initialize repositories
         newsRepository = new NewsRepository(requireContext());
         bookmarkSyncRepository = new BookmarkSyncRepository(requireContext());
+        viewScope = CancellationScope.bindTo(getViewLifecycleOwner());
         
         setupViews(rootView);
         setupCategoriesRecyclerView();
@@ -119,17 +140,6 @@ public class HomeFragment extends Fragment {
             loadMoreButton.setVisibility(View.GONE);
             paginationLoadingIndicator.setVisibility(View.VISIBLE);
             
-            // Set a timeout to handle potential API issues
-            setupLoadingTimeout(() -> {
-                if (isAdded() && isLoadingMore) {
-                    isLoadingMore = false;
-                    paginationLoadingIndicator.setVisibility(View.GONE);
-                    loadMoreButton.setVisibility(View.VISIBLE); // Always show button after timeout
-                    Log.d(TAG, "Loading timeout - showing Load More button again");
-                    showOfflineMessage("Loading timeout. Please try again.");
-                }
-            });
-            
             tryLoadPage(currentPage);
         }
     }
@@ -137,113 +147,121 @@ public class HomeFragment extends Fragment {
     private void tryLoadPage(int page) {
         Log.d(TAG, "Trying to load page " + page + " (attempt " + (retryCount + 1) + ")");
         
-        newsRepository.loadMoreNews(currentCategory, page, 
-            new NewsRepository.PaginatedNewsCallback() {
-                @Override
-                public void onSuccess(List<Article> articles) {
-                    // This method won't be called directly
+        CancellableFuture<NewsRepository.NewsPage> load = viewScope.add(
+            regularPages.loadNext(newsAdapter.getArticles()).withTimeout(LOADING_TIMEOUT));
+        pageLoad = load;
+        load.whenCompleteAsync((result, error) -> {
+            if (!isAdded() || load != pageLoad) {
+                return;
+            }
+            if (error != null) {
+                onPageFailed(page, error);
+            } else {
+                onPageLoaded(page, result.getArticles(), result.hasMorePages());
+            }
+        }, viewScope.mainExecutor());
+    }
+    
+    private void onPageFailed(int page, Throwable error) {
+        if (CancellableFuture.isCancellation(error)) {
+            return;
+        }
+        isLoadingMore = false;
+        paginationLoadingIndicator.setVisibility(View.GONE);
+        loadMoreButton.setVisibility(View.VISIBLE); // Always show button after an error or timeout
+        
+        Throwable cause = CancellableFuture.unwrap(error);
+        if (cause instanceof TimeoutException) {
+            Log.d(TAG, "Loading timeout - showing Load More button again");
+            showOfflineMessage("Loading timeout. Please try again.");
+        } else {
+            Log.d(TAG, "Error loading page " + page + ": " + cause.getMessage());
+            showOfflineMessage("Error: " + cause.getMessage());
+        }
+    }
+    
+    private void onPageLoaded(int page, List<Article> articles, boolean morePages) {
+        Log.d(TAG, "Page " + page + " loaded with " + articles.size() + " articles, hasMore=" + morePages);
+        
+        // Update UI with the new articles
+        isLoadingMore = false;
+        paginationLoadingIndicator.setVisibility(View.GONE);
+        
+        if (articles.isEmpty()) {
+            // No articles in this page
+            if (morePages) {
+                // API says there are more pages, so show the load more button
+                loadMoreButton.setVisibility(View.VISIBLE);
+                Log.d(TAG, "No articles in this page but API indicates more pages exist");
+                showOfflineMessage("No new articles found. You can try loading more.");
+            } else {
+                // No more pages according to API
+                loadMoreButton.setVisibility(View.GONE);
+                hasMorePages = false;
+                Log.d(TAG, "No more articles available according to API");
+                showOfflineMessage("No more articles available.");
+            }
+        } else {
+            // We got some articles, add them to the adapter
+            // Get existing articles
+            List<Article> existingArticles = newsAdapter.getArticles();
+            Log.d(TAG, "Current articles: " + existingArticles.size());
+            
+            // Create a new list combining existing and new articles
+            List<Article> combinedArticles = new ArrayList<>(existingArticles);
+            
+            // Add only articles that don't already exist (by URL)
+            Set<String> existingUrls = new HashSet<>();
+            for (Article article : existingArticles) {
+                if (article.getUrl() != null) {
+                    existingUrls.add(article.getUrl());
                 }
-
-                @Override
-                public void onError(String message) {
-                    if (isAdded()) {
-                        cancelLoadingTimeout();
-                        isLoadingMore = false;
-                        paginationLoadingIndicator.setVisibility(View.GONE);
-                        loadMoreButton.setVisibility(View.VISIBLE); // Always show button on error
-                        Log.d(TAG, "Error loading page " + page + ": " + message);
-                        showOfflineMessage("Error: " + message);
-                    }
+            }
+            
+            int newArticlesAdded = 0;
+            for (Article article : articles) {
+                if (article.getUrl() != null && !existingUrls.contains(article.getUrl())) {
+                    combinedArticles.add(article);
+                    existingUrls.add(article.getUrl());
+                    newArticlesAdded++;
                 }
-
-                @Override
-                public void onSuccessWithHasMore(List<Article> articles, boolean morePages) {
-                    if (isAdded()) {
-                        Log.d(TAG, "Page " + page + " loaded with " + articles.size() + " articles, hasMore=" + morePages);
-                        
-                        // Update UI with the new articles
-                        cancelLoadingTimeout();
-                        isLoadingMore = false;
-                        paginationLoadingIndicator.setVisibility(View.GONE);
-                        
-                        if (articles.isEmpty()) {
-                            // No articles in this page
-                            if (morePages) {
-                                // API says there are more pages, so show the load more button
-                                loadMoreButton.setVisibility(View.VISIBLE);
-                                Log.d(TAG, "No articles in this page but API indicates more pages exist");
-                                showOfflineMessage("No new articles found. You can try loading more.");
-                            } else {
-                                // No more pages according to API
-                                loadMoreButton.setVisibility(View.GONE);
-                                hasMorePages = false;
-                                Log.d(TAG, "No more articles available according to API");
-                                showOfflineMessage("No more articles available.");
-                            }
-                        } else {
-                            // We got some articles, add them to the adapter
-                            // Get existing articles
-                            List<Article> existingArticles = newsAdapter.getArticles();
-                            Log.d(TAG, "Current articles: " + existingArticles.size());
-                            
-                            // Create a new list combining existing and new articles
-                            List<Article> combinedArticles = new ArrayList<>(existingArticles);
-                            
-                            // Add only articles that don't already exist (by URL)
-                            Set<String> existingUrls = new HashSet<>();
-                            for (Article article : existingArticles) {
-                                if (article.getUrl() != null) {
-                                    existingUrls.add(article.getUrl());
-                                }
-                            }
-                            
-                            int newArticlesAdded = 0;
-                            for (Article article : articles) {
-                                if (article.getUrl() != null && !existingUrls.contains(article.getUrl())) {
-                                    combinedArticles.add(article);
-                                    existingUrls.add(article.getUrl());
-                                    newArticlesAdded++;
-                                }
-                            }
-                            
-                            Log.d(TAG, "Adding " + newArticlesAdded + " new unique articles out of " + articles.size() + " received");
-                            
-                            // Update adapter with combined list
-                            newsAdapter.updateArticles(combinedArticles);
-                            
-                            // Update pagination state
-                            hasMorePages = morePages;
-                            Log.d(TAG, "Setting hasMorePages to " + hasMorePages);
-                            
-                            // Show load more button if there are more pages
-                            loadMoreButton.setVisibility(hasMorePages ? View.VISIBLE : View.GONE);
-                            
-                            if (newArticlesAdded > 0) {
-                                // Scroll to show new content
-                                scrollView.post(() -> {
-                                    // Calculate position to scroll to - a few items back from where new content begins
-                                    int scrollPosition = Math.max(0, existingArticles.size() - 1);
-                                    if (scrollPosition < newsAdapter.getItemCount()) {
-                                        newsRecyclerView.smoothScrollToPosition(scrollPosition);
-                                    }
-                                });
-                            } else if (morePages) {
-                                // No new articles added but API says there are more pages
-                                // Let's try loading the next page automatically
-                                if (retryCount < MAX_RETRY_PAGES) {
-                                    retryCount++;
-                                    currentPage++;
-                                    Log.d(TAG, "No new articles added, automatically trying page " + currentPage);
-                                    tryLoadPage(currentPage);
-                                } else {
-                                    // Too many retries, just show the load more button
-                                    showOfflineMessage("Try loading more for additional articles.");
-                                }
-                            }
-                        }
+            }
+            
+            Log.d(TAG, "Adding " + newArticlesAdded + " new unique articles out of " + articles.size() + " received");
+            
+            // Update adapter with combined list
+            newsAdapter.updateArticles(combinedArticles);
+            
+            // Update pagination state
+            hasMorePages = morePages;
+            Log.d(TAG, "Setting hasMorePages to " + hasMorePages);
+            
+            // Show load more button if there are more pages
+            loadMoreButton.setVisibility(hasMorePages ? View.VISIBLE : View.GONE);
+            
+            if (newArticlesAdded > 0) {
+                // Scroll to show new content
+                scrollView.post(() -> {
+                    // Calculate position to scroll to - a few items back from where new content begins
+                    int scrollPosition = Math.max(0, existingArticles.size() - 1);
+                    if (scrollPosition < newsAdapter.getItemCount()) {
+                        newsRecyclerView.smoothScrollToPosition(scrollPosition);
                     }
+                });
+            } else if (morePages) {
+                // No new articles added but API says there are more pages
+                // Let's try loading the next page automatically
+                if (retryCount < MAX_RETRY_PAGES) {
+                    retryCount++;
+                    currentPage++;
+                    Log.d(TAG, "No new articles added, automatically trying page " + currentPage);
+                    tryLoadPage(currentPage);
+                } else {
+                    // Too many retries, just show the load more button
+                    showOfflineMessage("Try loading more for additional articles.");
                 }
-            });
+            }
+        }
     }
     
     private void loadNewsForCategory(String category) {
@@ -253,8 +271,12 @@ public class HomeFragment extends Fragment {
         isLoadingMore = false;
         retryCount = 0;
         
-        // Reset repository state
-        newsRepository.resetArticles();
+        // Results of the previous category must not land in this one
+        cancelLoads();
+        featuredFromSnapshot = false;
+        regularFromSnapshot = false;
+        
+        regularPages = newsRepository.openRegularFeed(category);
         
         // Initially show the Load More button even before data loads
         loadMoreButton.setVisibility(View.VISIBLE);
@@ -275,196 +297,199 @@ public class HomeFragment extends Fragment {
         featuredAdapter.updateArticles(new ArrayList<>());
         newsAdapter.updateArticles(new ArrayList<>());
         
-        // Set timeouts to handle potential API issues
-        setupLoadingTimeout(() -> {
-            if (isAdded()) {
-                // Handle featured news timeout
-                setFeaturedLoadingState(false);
-                if (featuredAdapter.getItemCount() == 0) {
-                    featuredEmptyText.setVisibility(View.VISIBLE);
-                }
-                
-                // Handle regular news timeout
-                setNewsLoadingState(false);
-                if (newsAdapter.getItemCount() == 0) {
-                    newsEmptyText.setVisibility(View.VISIBLE);
-                }
-                
-                showOfflineMessage("Loading timeout. Please check your connection.");
+        Log.d(TAG, "Loading news for category: " + category);
+        
+        // Cached articles first, shown together once both are read. A category
+        // seen before is still in memory and renders in this frame.
+        List<Article> memoryFeatured = newsRepository.peekCachedNews(category, true, FEATURED_COUNT);
+        List<Article> memoryRegular = newsRepository.peekCachedNews(category, false, REGULAR_COUNT);
+        CancellableFuture<CachedFeed> cached;
+        if (memoryFeatured != null && memoryRegular != null) {
+            showCachedFeed(new CachedFeed(memoryFeatured, memoryRegular));
+            cached = CancellableFuture.completed(null);
+        } else {
+            if (startupSnapshot != null && startupSnapshot.getCategory().equals(category)) {
+                showSnapshot(startupSnapshot);
             }
-        });
+            cached = CancellableFuture.zip(
+                newsRepository.getCachedNewsAsync(category, true, FEATURED_COUNT),
+                newsRepository.getCachedNewsAsync(category, false, REGULAR_COUNT),
+                CachedFeed::new);
+        }
         
-        Log.d(TAG, "Loading news for category: " + category);
+        // Then fresh articles; requested back to back so they share one API call
+        CancellableFuture<NewsRepository.NewsPage> freshFeatured =
+            newsRepository.refreshNewsAsync(category, true, FEATURED_COUNT);
+        CancellableFuture<NewsRepository.NewsPage> freshRegular =
+            newsRepository.refreshNewsAsync(category, false, REGULAR_COUNT);
         
-        // Track completion status for both API calls
-        final boolean[] featuredCompleted = {false};
-        final boolean[] regularCompleted = {false};
+        // Timing out cancels whatever is still running
+        CancellableFuture<Void> load = viewScope.add(
+            CancellableFuture.allSettled(cached, freshFeatured, freshRegular).withTimeout(LOADING_TIMEOUT));
+        feedLoad = load;
         
-        // Load featured news (still using 5 for featured)
-        newsRepository.getNewsByCategory(category, true, 5, new NewsRepository.NewsCallback() {
-            @Override
-            public void onSuccess(List<Article> articles) {
-                if (isAdded()) {
-                    featuredCompleted[0] = true;
-                    setFeaturedLoadingState(false);
-                    Log.d(TAG, "Featured news loaded, count: " + articles.size());
-                    
-                    if (articles.isEmpty()) {
-                        featuredEmptyText.setVisibility(View.VISIBLE);
-                    } else {
-                        featuredEmptyText.setVisibility(View.GONE);
-                        featuredAdapter.updateArticles(articles);
-                    }
-                    
-                    // Check if both calls completed
-                    checkBothCompleted(featuredCompleted[0], regularCompleted[0]);
-                }
+        cached.whenCompleteAsync((feed, error) -> {
+            if (isCurrent(load) && error == null && feed != null) {
+                showCachedFeed(feed);
             }
-
-            @Override
-            public void onError(String message) {
-                if (isAdded()) {
-                    featuredCompleted[0] = true;
-                    setFeaturedLoadingState(false);
-                    Log.e(TAG, "Featured news error: " + message);
-                    
-                    // Check if we have items already (from cache)
-                    if (featuredAdapter.getItemCount() == 0) {
-                        featuredEmptyText.setVisibility(View.VISIBLE);
-                    }
-                    
-                    showOfflineMessage(message);
-                    
-                    // Check if both calls completed
-                    checkBothCompleted(featuredCompleted[0], regularCompleted[0]);
-                }
+        }, viewScope.mainExecutor());
+        freshFeatured.whenCompleteAsync((page, error) -> {
+            if (isCurrent(load)) {
+                onFeaturedLoaded(page, error);
             }
-        });
+        }, viewScope.mainExecutor());
+        freshRegular.whenCompleteAsync((page, error) -> {
+            if (isCurrent(load)) {
+                onRegularLoaded(page, error);
+            }
+        }, viewScope.mainExecutor());
+        load.whenCompleteAsync((ignored, error) -> {
+            if (isCurrent(load)) {
+                onFeedLoadSettled(error);
+            }
+        }, viewScope.mainExecutor());
+    }
+    
+    private void showSnapshot(HomeSnapshotStore.Snapshot snapshot) {
+        Log.d(TAG, "Showing home snapshot saved at " + snapshot.getSavedAt());
+        if (!snapshot.getFeatured().isEmpty()) {
+            setFeaturedLoadingState(false);
+            featuredAdapter.updateArticles(snapshot.getFeatured());
+            featuredFromSnapshot = true;
+        }
+        if (!snapshot.getRegular().isEmpty()) {
+            setNewsLoadingState(false);
+            newsAdapter.updateArticles(snapshot.getRegular());
+            regularFromSnapshot = true;
+        }
+        startupSnapshot = null;
+    }
+    
+    private boolean isCurrent(CancellableFuture<Void> load) {
+        return isAdded() && load == feedLoad;
+    }
+    
+    private void showCachedFeed(CachedFeed feed) {
+        // Fresh results may have been shown already, cached ones only replace the snapshot
+        if (!feed.featured.isEmpty() && (featuredAdapter.getItemCount() == 0 || featuredFromSnapshot)) {
+            Log.d(TAG, "Showing " + feed.featured.size() + " cached featured articles");
+            setFeaturedLoadingState(false);
+            featuredAdapter.updateArticles(feed.featured);
+            featuredFromSnapshot = false;
+        }
+        if (!feed.regular.isEmpty() && (newsAdapter.getItemCount() == 0 || regularFromSnapshot)) {
+            Log.d(TAG, "Showing " + feed.regular.size() + " cached articles");
+            setNewsLoadingState(false);
+            newsAdapter.updateArticles(feed.regular);
+            regularFromSnapshot = false;
+        }
+    }
+    
+    private void onFeaturedLoaded(NewsRepository.NewsPage page, Throwable error) {
+        if (error != null && CancellableFuture.isCancellation(error)) {
+            return;
+        }
+        setFeaturedLoadingState(false);
         
-        // Load regular news with pagination - specify 10 articles explicitly
-        newsRepository.getNewsByCategory(category, false, 10, 
-            new NewsRepository.PaginatedNewsCallback() {
-                @Override
-                public void onSuccess(List<Article> articles) {
-                    // This is handled in onSuccessWithHasMore
-                    Log.d(TAG, "Regular onSuccess called with: " + articles.size());
-                    
-                    if (isAdded()) {
-                        regularCompleted[0] = true;
-                        setNewsLoadingState(false);
-                        
-                        if (articles.isEmpty()) {
-                            newsEmptyText.setVisibility(View.VISIBLE);
-                        } else {
-                            newsEmptyText.setVisibility(View.GONE);
-                            newsAdapter.updateArticles(articles);
-                        }
-                        
-                        // Check if both calls completed
-                        checkBothCompleted(featuredCompleted[0], regularCompleted[0]);
-                    }
-                }
-
-                @Override
-                public void onError(String message) {
-                    if (isAdded()) {
-                        cancelLoadingTimeout();
-                        regularCompleted[0] = true;
-                        setNewsLoadingState(false);
-                        Log.e(TAG, "Regular news error: " + message);
-                        
-                        // Check if we have items already (from cache)
-                        if (newsAdapter.getItemCount() == 0) {
-                            newsEmptyText.setVisibility(View.VISIBLE);
-                        }
-                        
-                        showOfflineMessage(message);
-                        
-                        // Check if both calls completed
-                        checkBothCompleted(featuredCompleted[0], regularCompleted[0]);
-                    }
-                }
-
-                @Override
-                public void onSuccessWithHasMore(List<Article> articles, boolean morePages) {
-                    if (isAdded()) {
-                        cancelLoadingTimeout();
-                        regularCompleted[0] = true;
-                        setNewsLoadingState(false);
-                        Log.d(TAG, "Regular news loaded with pagination, count: " + articles.size() + ", hasMore: " + morePages);
-                        
-                        if (articles.isEmpty()) {
-                            newsEmptyText.setVisibility(View.VISIBLE);
-                            hasMorePages = false;
-                            Log.d(TAG, "No articles returned, disabling pagination");
-                        } else {
-                            newsEmptyText.setVisibility(View.GONE);
-                            
-                            // When loading additional pages, append the new articles to the existing ones
-                            if (currentPage > 1) {
-                                Log.d(TAG, "Appending " + articles.size() + " new articles to existing list");
-                                // Get existing articles
-                                List<Article> existingArticles = newsAdapter.getArticles();
-                                // Create new combined list
-                                List<Article> combinedArticles = new ArrayList<>(existingArticles);
-                                // Add new articles
-                                combinedArticles.addAll(articles);
-                                // Update adapter with combined list
-                                newsAdapter.updateArticles(combinedArticles);
-                                Log.d(TAG, "Total articles after append: " + combinedArticles.size());
-                            } else {
-                                // First page - just use the articles directly
-                                newsAdapter.updateArticles(articles);
-                                Log.d(TAG, "First page - setting " + articles.size() + " articles");
-                            }
-                            
-                            // Update pagination state
-                            hasMorePages = morePages;
-                            Log.d(TAG, "Setting hasMorePages to " + hasMorePages);
-                        }
-                        
-                        // Show the load more button if there are more pages
-                        if (hasMorePages) {
-                            loadMoreButton.setVisibility(View.VISIBLE);
-                            Log.d(TAG, "Showing Load More button");
-                        } else {
-                            loadMoreButton.setVisibility(View.GONE);
-                            Log.d(TAG, "Hiding Load More button");
-                        }
-                        
-                        // Check if both calls completed
-                        checkBothCompleted(featuredCompleted[0], regularCompleted[0]);
-                    }
-                }
-            });
+        if (error != null) {
+            String message = CancellableFuture.unwrap(error).getMessage();
+            Log.e(TAG, "Featured news error: " + message);
+            
+            // Check if we have items already (from cache)
+            if (featuredAdapter.getItemCount() == 0) {
+                featuredEmptyText.setVisibility(View.VISIBLE);
+            }
+            showOfflineMessage(message);
+            return;
+        }
+        
+        List<Article> articles = page.getArticles();
+        Log.d(TAG, "Featured news loaded, count: " + articles.size());
+        if (articles.isEmpty()) {
+            featuredEmptyText.setVisibility(View.VISIBLE);
+        } else {
+            featuredEmptyText.setVisibility(View.GONE);
+            featuredAdapter.updateArticles(articles);
+            featuredFromSnapshot = false;
+        }
     }
     
-    private void checkBothCompleted(boolean featuredDone, boolean regularDone) {
-        if (featuredDone && regularDone) {
-            // Both API calls have completed (success or error)
-            cancelLoadingTimeout();
+    private void onRegularLoaded(NewsRepository.NewsPage page, Throwable error) {
+        if (error != null && CancellableFuture.isCancellation(error)) {
+            return;
+        }
+        setNewsLoadingState(false);
+        
+        if (error != null) {
+            String message = CancellableFuture.unwrap(error).getMessage();
+            Log.e(TAG, "Regular news error: " + message);
             
+            // Check if we have items already (from cache)
+            if (newsAdapter.getItemCount() == 0) {
+                newsEmptyText.setVisibility(View.VISIBLE);
+            }
+            showOfflineMessage(message);
+            return;
+        }
+        
+        List<Article> articles = page.getArticles();
+        Log.d(TAG, "Regular news loaded, count: " + articles.size() + ", hasMore: " + page.hasMorePages());
+        if (articles.isEmpty()) {
+            newsEmptyText.setVisibility(View.VISIBLE);
+            hasMorePages = false;
+            Log.d(TAG, "No articles returned, disabling pagination");
+        } else {
+            newsEmptyText.setVisibility(View.GONE);
+            newsAdapter.updateArticles(articles);
+            regularFromSnapshot = false;
+            hasMorePages = page.hasMorePages();
+        }
+        
+        // Show the load more button if there are more pages
+        loadMoreButton.setVisibility(hasMorePages ? View.VISIBLE : View.GONE);
+    }
+    
+    private void onFeedLoadSettled(Throwable error) {
+        if (error != null && CancellableFuture.unwrap(error) instanceof TimeoutException) {
+            setFeaturedLoadingState(false);
+            if (featuredAdapter.getItemCount() == 0) {
+                featuredEmptyText.setVisibility(View.VISIBLE);
+            }
+            setNewsLoadingState(false);
+            if (newsAdapter.getItemCount() == 0) {
+                newsEmptyText.setVisibility(View.VISIBLE);
+            }
+            showOfflineMessage("Loading timeout. Please check your connection.");
+        } else if (error == null) {
             // Ensure that both loading indicators are properly hidden
             setFeaturedLoadingState(false);
             setNewsLoadingState(false);
-            
-            // Log completion status
             Log.d(TAG, "Both featured and regular news calls completed");
+            saveSnapshot();
         }
     }
     
-    private void setupLoadingTimeout(Runnable action) {
-        cancelLoadingTimeout(); // Cancel any existing timeout
-        timeoutRunnable = action;
-        if (getView() != null) {
-            getView().postDelayed(timeoutRunnable, LOADING_TIMEOUT);
+    /**
+     * Keep the first screen for the next cold start, once it no longer shows the old snapshot
+     */
+    private void saveSnapshot() {
+        if (!DEFAULT_CATEGORY.equals(currentCategory) || featuredFromSnapshot || regularFromSnapshot
+                || featuredAdapter.getItemCount() == 0 || newsAdapter.getItemCount() == 0) {
+            return;
         }
+        List<Article> regular = newsAdapter.getArticles();
+        newsRepository.saveHomeSnapshot(currentCategory, featuredAdapter.getArticles(),
+            regular.subList(0, Math.min(REGULAR_COUNT, regular.size())));
     }
     
-    private void cancelLoadingTimeout() {
-        if (timeoutRunnable != null && getView() != null) {
-            getView().removeCallbacks(timeoutRunnable);
-            timeoutRunnable = null;
+    private void cancelLoads() {
+        if (feedLoad != null) {
+            feedLoad.cancel(false);
+            feedLoad = null;
+        }
+        if (pageLoad != null) {
+            pageLoad.cancel(false);
+            pageLoad = null;
         }
     }
     
@@ -514,9 +539,13 @@ public class HomeFragment extends Fragment {
         newsRecyclerView.setAdapter(newsAdapter);
     }
     
-    @Override
-    public void onDestroy() {
-        cancelLoadingTimeout();
-        super.onDestroy();
+    private static final class CachedFeed {
+        final List<Article> featured;
+        final List<Article> regular;
+        
+        CachedFeed(List<Article> featured, List<Article> regular) {
+            this.featured = featured;
+            this.regular = regular;
+        }
     }
 }
\ No newline at end of file
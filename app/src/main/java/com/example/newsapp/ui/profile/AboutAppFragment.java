@@ -17,6 +17,8 @@ import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 
 import com.example.newsapp.R;
+import com.example.newsapp.api.NetworkReplay;
+import com.example.newsapp.ui.debug.NetworkDebugFragment;
 
 public class AboutAppFragment extends Fragment {
 
@@ -51,6 +53,19 @@ public class AboutAppFragment extends Fragment {
         } catch (PackageManager.NameNotFoundException e) {
             versionText.setText("Version 1.0");
         }
+        
+        // Hidden entry point to the network diagnostics screen, in debuggable builds only
+        if (!NetworkReplay.isAvailable(requireContext())) {
+            return;
+        }
+        versionText.setOnLongClickListener(v -> {
+            requireActivity().getSupportFragmentManager()
+                    .beginTransaction()
+                    .replace(R.id.fragment_container, new NetworkDebugFragment())
+                    .addToBackStack(null)
+                    .commit();
+            return true;
+        });
     }
     
     private void setupAboutOptions(View view) {
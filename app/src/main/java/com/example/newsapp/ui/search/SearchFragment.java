@@ -21,6 +21,8 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.newsapp.R;
 import com.example.newsapp.data.models.Article;
+import com.example.newsapp.data.repository.CancellableFuture;
+import com.example.newsapp.data.repository.CancellationScope;
 import com.example.newsapp.data.repository.NewsRepository;
 import com.example.newsapp.data.repository.BookmarkSyncRepository;
 import com.example.newsapp.ui.home.NewsAdapter;
@@ -30,10 +32,13 @@ import com.google.android.material.snackbar.Snackbar;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class SearchFragment extends Fragment {
     private static final String TAG = "SearchFragment";
+    private static final int MAX_LOCAL_RESULTS = 20;
     
     private EditText searchEditText;
     private Button searchButton;
@@ -45,6 +50,15 @@ public class SearchFragment extends Fragment {
     private NewsAdapter resultsAdapter;
     private NewsRepository newsRepository;
     
+    // Ends with the view, taking the running search with it
+    private CancellationScope viewScope;
+    private CancellableFuture<NewsRepository.NewsPage> searchLoad;
+    private CancellableFuture<List<Article>> localSearch;
+    
+    // Results of the current search: stored articles first, then the ones only the API returned
+    private List<Article> localResults = new ArrayList<>();
+    private List<Article> remoteResults = new ArrayList<>();
+    
     // Popular searches suggestions
     private final List<String> popularSearches = Arrays.asList(
             "Technology", "Climate Change", "Sports", "Politics", "Health"
@@ -65,6 +79,7 @@ public class SearchFragment extends Fragment {
         
         // Initialize repository
         newsRepository = new NewsRepository(requireContext());
+        viewScope = CancellationScope.bindTo(getViewLifecycleOwner());
         
         // Initialize bookmarkSyncRepository
         BookmarkSyncRepository bookmarkSyncRepository = new BookmarkSyncRepository(requireContext());
@@ -190,31 +205,98 @@ public class SearchFragment extends Fragment {
         // Clear previous results
         resultsAdapter.updateArticles(new ArrayList<>());
         
+        // A new search replaces the previous one, whose download and DB write are dropped
+        if (searchLoad != null) {
+            searchLoad.cancel(false);
+        }
+        if (localSearch != null) {
+            localSearch.cancel(false);
+        }
+        localResults = new ArrayList<>();
+        remoteResults = new ArrayList<>();
+        
+        // Stored articles answer from the full-text index while the API is asked
+        CancellableFuture<List<Article>> local = viewScope.add(
+            newsRepository.searchLocalAsync(query, MAX_LOCAL_RESULTS));
+        localSearch = local;
+        local.whenCompleteAsync((articles, error) -> {
+            if (local != localSearch) {
+                return;
+            }
+            localSearch = null;
+            if (error != null) {
+                if (!CancellableFuture.isCancellation(error)) {
+                    Log.e(TAG, "Local search failed", CancellableFuture.unwrap(error));
+                }
+            } else {
+                localResults = articles;
+            }
+            showResults();
+        }, viewScope.mainExecutor());
+        
         // Perform search
-        newsRepository.searchArticles(query, new NewsRepository.NewsCallback() {
-            @Override
-            public void onSuccess(List<Article> articles) {
-                if (isAdded()) {
-                    setLoadingState(false);
-                    
-                    if (articles.isEmpty()) {
-                        showEmptyState(true);
-                    } else {
-                        showEmptyState(false);
-                        resultsAdapter.updateArticles(articles);
-                    }
+        CancellableFuture<NewsRepository.NewsPage> search = viewScope.add(newsRepository.searchArticlesAsync(
+            query, 1, firstArticles -> viewScope.mainExecutor().execute(() -> showPartialResults(firstArticles))));
+        searchLoad = search;
+        search.whenCompleteAsync((page, error) -> {
+            if (search != searchLoad) {
+                return;
+            }
+            searchLoad = null;
+            if (error != null) {
+                if (!CancellableFuture.isCancellation(error)) {
+                    String message = CancellableFuture.unwrap(error).getMessage();
+                    showResults();
+                    // Offline the stored matches are the answer, only say that nothing newer came
+                    Snackbar.make(requireView(), localResults.isEmpty()
+                            ? "Search error: " + message
+                            : "Showing saved articles only: " + message,
+                        Snackbar.LENGTH_LONG).show();
                 }
+                return;
             }
             
-            @Override
-            public void onError(String message) {
-                if (isAdded()) {
-                    setLoadingState(false);
-                    showEmptyState(true);
-                    Snackbar.make(requireView(), "Search error: " + message, Snackbar.LENGTH_LONG).show();
-                }
+            remoteResults = page.getArticles();
+            showResults();
+        }, viewScope.mainExecutor());
+    }
+    
+    private void showPartialResults(List<Article> articles) {
+        // Show the first results while the rest of the response is still arriving
+        if (searchLoad != null && !articles.isEmpty()) {
+            remoteResults = articles;
+            showResults();
+        }
+    }
+    
+    /**
+     * Show the stored matches followed by the API results not among them. Rows already
+     * shown keep their place as more results arrive.
+     */
+    private void showResults() {
+        List<Article> merged = new ArrayList<>(localResults);
+        Set<String> shownUrls = new HashSet<>();
+        for (Article article : localResults) {
+            shownUrls.add(article.getUrl());
+        }
+        for (Article article : remoteResults) {
+            if (shownUrls.add(article.getUrl())) {
+                merged.add(article);
             }
-        });
+        }
+        
+        if (merged.isEmpty()) {
+            // Nothing yet; the empty state waits until both searches are done
+            if (searchLoad == null && localSearch == null) {
+                setLoadingState(false);
+                resultsAdapter.updateArticles(merged);
+                showEmptyState(true);
+            }
+            return;
+        }
+        setLoadingState(false);
+        showEmptyState(false);
+        resultsAdapter.updateArticles(merged);
     }
     
     private void addToRecentSearches(String query) {
@@ -0,0 +1,151 @@
+package com.example.newsapp.utils;
+
+import android.app.job.JobInfo;
+import android.app.job.JobParameters;
+import android.app.job.JobScheduler;
+import android.app.job.JobService;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.newsapp.api.ApiQuotaManager;
+import com.example.newsapp.data.repository.CancellableFuture;
+import com.example.newsapp.data.repository.NewsRepository;
+import com.example.newsapp.data.repository.ReadingStats;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Periodic job that refreshes the top home categories and the user's most read
+ * categories into Room, so opening the app after a long idle finds a warm cache.
+ * Runs only on unmetered networks, while charging or while the device is idle;
+ * JobScheduler cannot express "charging or idle", so one job is scheduled for
+ * each and a run is skipped if the other job ran recently.
+ *
+ * Refreshes go through {@link NewsRepository}, so fresh categories are not
+ * fetched at all, the API budget is respected, and calls identical to a
+ * foreground request in flight are shared through the request coalescer.
+ */
+public class FeedRefreshJobService extends JobService {
+    private static final String TAG = "FeedRefreshJobService";
+    private static final int JOB_ID_CHARGING = 1801;
+    private static final int JOB_ID_IDLE = 1802;
+    private static final long PERIOD_MS = 3 * 60 * 60 * 1000;
+    private static final long MIN_INTERVAL_MS = 60 * 60 * 1000;
+    private static final long CATEGORY_TIMEOUT_MS = 30 * 1000;
+    private static final int TOP_CATEGORIES = 2;
+    private static final int MOST_READ_CATEGORIES = 2;
+    private static final String PREFS_NAME = "feed_refresh";
+    private static final String KEY_LAST_RUN = "last_run";
+
+    private volatile boolean stopped;
+    private CancellableFuture<Void> current;
+
+    /**
+     * Schedule both jobs unless they are already pending. Scheduled jobs survive
+     * reboots, so this only does work on the first launch or after the app data
+     * was cleared.
+     */
+    public static void schedule(Context context) {
+        JobScheduler scheduler = (JobScheduler) context.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        if (scheduler == null) {
+            return;
+        }
+        ComponentName service = new ComponentName(context, FeedRefreshJobService.class);
+        if (scheduler.getPendingJob(JOB_ID_CHARGING) == null) {
+            scheduler.schedule(new JobInfo.Builder(JOB_ID_CHARGING, service)
+                .setRequiredNetworkType(JobInfo.NETWORK_TYPE_UNMETERED)
+                .setRequiresCharging(true)
+                .setPeriodic(PERIOD_MS)
+                .setPersisted(true)
+                .build());
+        }
+        if (scheduler.getPendingJob(JOB_ID_IDLE) == null) {
+            scheduler.schedule(new JobInfo.Builder(JOB_ID_IDLE, service)
+                .setRequiredNetworkType(JobInfo.NETWORK_TYPE_UNMETERED)
+                .setRequiresDeviceIdle(true)
+                .setPeriodic(PERIOD_MS)
+                .setPersisted(true)
+                .build());
+        }
+    }
+
+    @Override
+    public boolean onStartJob(JobParameters params) {
+        SharedPreferences prefs = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
+        long now = System.currentTimeMillis();
+        if (now - prefs.getLong(KEY_LAST_RUN, 0) < MIN_INTERVAL_MS) {
+            Log.d(TAG, "Refreshed recently, skipping job " + params.getJobId());
+            return false;
+        }
+        if (ApiQuotaManager.getInstance(this).isBudgetLow()) {
+            Log.d(TAG, "API budget low, skipping background refresh");
+            return false;
+        }
+        prefs.edit().putLong(KEY_LAST_RUN, now).apply();
+
+        Deque<String> categories = new ArrayDeque<>(pickCategories());
+        Log.d(TAG, "Refreshing " + categories + " in the background");
+        refreshNext(new NewsRepository(this), categories, params);
+        return true;
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        Log.d(TAG, "Background refresh stopped by the system");
+        CancellableFuture<Void> running;
+        synchronized (this) {
+            stopped = true;
+            running = current;
+        }
+        if (running != null) {
+            running.cancel(false);
+        }
+        // The constraints went away, the next period tries again
+        return false;
+    }
+
+    private Set<String> pickCategories() {
+        Set<String> categories = new LinkedHashSet<>();
+        for (String name : NewsRepository.HOME_CATEGORIES.subList(0, TOP_CATEGORIES)) {
+            categories.add(name.toLowerCase(Locale.US));
+        }
+        categories.addAll(ReadingStats.getInstance(this).getMostRead(MOST_READ_CATEGORIES));
+        return categories;
+    }
+
+    /**
+     * Refresh the categories one at a time, featured and regular together so
+     * they share one call, until all are done, the budget runs low or the job is stopped
+     */
+    private void refreshNext(NewsRepository repository, Deque<String> categories, JobParameters params) {
+        String category = categories.poll();
+        if (category == null || stopped || ApiQuotaManager.getInstance(this).isBudgetLow()) {
+            Log.d(TAG, "Background refresh finished" + (categories.isEmpty() ? "" : ", left " + categories));
+            jobFinished(params, false);
+            return;
+        }
+
+        CancellableFuture<Void> refresh = CancellableFuture.allSettled(
+            repository.refreshNewsAsync(category, true, NewsRepository.HOME_FEATURED_COUNT),
+            repository.refreshNewsAsync(category, false, NewsRepository.HOME_REGULAR_COUNT))
+            .withTimeout(CATEGORY_TIMEOUT_MS);
+        synchronized (this) {
+            if (stopped) {
+                refresh.cancel(false);
+                return;
+            }
+            current = refresh;
+        }
+        refresh.whenComplete((result, error) -> {
+            if (!CancellableFuture.isCancellation(error)) {
+                refreshNext(repository, categories, params);
+            }
+        });
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.newsapp.utils;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.newsapp.api.HttpClientProvider;
+import com.example.newsapp.data.db.NewsDatabase;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Startup stage that resolves and pre-connects to the API host, so the first feed
+ * request lands on a connection that is already in the shared pool. The image hosts
+ * seen most in cached articles are only resolved: Glide loads images through its own
+ * HttpURLConnection stack, which cannot use pooled OkHttp connections, but does
+ * benefit from a warm DNS cache. Runs off the main thread while the UI inflates and
+ * can be cancelled at any time.
+ */
+public class NetworkWarmup {
+    private static final String TAG = "NetworkWarmup";
+    private static final String API_HOST = "gnews.io";
+    private static final int MAX_IMAGE_HOSTS = 3;
+    private static final int RECENT_IMAGES_SCANNED = 50;
+    private static final int PARALLELISM = 3;
+
+    private final Context context;
+    private final OkHttpClient client = HttpClientProvider.getSharedClient();
+    private final ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM);
+    private final List<Call> calls = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean cancelled;
+
+    public NetworkWarmup(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public void start() {
+        long startedAt = SystemClock.elapsedRealtime();
+        // The API host is warmed right away, image hosts once they are read from Room
+        executor.execute(() -> warm(API_HOST, true, startedAt));
+        executor.execute(() -> {
+            try {
+                for (String host : topImageHosts()) {
+                    executor.execute(() -> warm(host, false, startedAt));
+                }
+                // Lets the queued hosts finish, then releases the threads
+                executor.shutdown();
+            } catch (RejectedExecutionException e) {
+                // Cancelled while the hosts were being queued
+            }
+        });
+    }
+
+    /**
+     * Stop any lookup or connection still in progress; already pooled connections stay
+     */
+    public void cancel() {
+        cancelled = true;
+        executor.shutdownNow();
+        synchronized (calls) {
+            for (Call call : calls) {
+                call.cancel();
+            }
+        }
+    }
+
+    /**
+     * @param preconnect also open a pooled connection, only useful for hosts OkHttp talks to
+     */
+    private void warm(String host, boolean preconnect, long startedAt) {
+        if (cancelled) {
+            return;
+        }
+        long dnsStart = SystemClock.elapsedRealtime();
+        try {
+            InetAddress.getAllByName(host);
+            long dnsMillis = SystemClock.elapsedRealtime() - dnsStart;
+            if (!preconnect) {
+                Log.d(TAG, "Resolved " + host + ": dns=" + dnsMillis + "ms, "
+                    + (SystemClock.elapsedRealtime() - startedAt) + "ms after start");
+                return;
+            }
+
+            // A HEAD request to the root opens the TCP and TLS connection, which the
+            // pool keeps for the real requests. It is not an API call, so it costs no quota.
+            long connectStart = SystemClock.elapsedRealtime();
+            Call call = client.newCall(new Request.Builder()
+                .url("https://" + host + "/")
+                .head()
+                .build());
+            calls.add(call);
+            if (cancelled) {
+                call.cancel();
+            }
+            try (Response response = call.execute()) {
+                Log.d(TAG, "Warmed " + host + ": dns=" + dnsMillis + "ms, connect+head="
+                    + (SystemClock.elapsedRealtime() - connectStart) + "ms (HTTP " + response.code()
+                    + "), " + (SystemClock.elapsedRealtime() - startedAt) + "ms after start");
+            } finally {
+                calls.remove(call);
+            }
+        } catch (Exception e) {
+            // Warm-up is best effort, the real request will simply connect itself
+            Log.d(TAG, "Warm-up of " + host + " failed" + (cancelled ? " (cancelled)" : ": " + e.getMessage()));
+        }
+    }
+
+    private List<String> topImageHosts() {
+        Map<String, Integer> counts = new HashMap<>();
+        try {
+            List<String> imageUrls = NewsDatabase.getInstance(context).articleDao()
+                .getRecentImageUrls(RECENT_IMAGES_SCANNED);
+            for (String imageUrl : imageUrls) {
+                String host = Uri.parse(imageUrl).getHost();
+                if (host != null && !host.equals(API_HOST)) {
+                    Integer count = counts.get(host);
+                    counts.put(host, count == null ? 1 : count + 1);
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error reading cached image hosts", e);
+        }
+
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(counts.entrySet());
+        Collections.sort(entries, (a, b) -> b.getValue() - a.getValue());
+        Set<String> hosts = new LinkedHashSet<>();
+        for (Map.Entry<String, Integer> entry : entries) {
+            if (hosts.size() >= MAX_IMAGE_HOSTS) {
+                break;
+            }
+            hosts.add(entry.getKey());
+        }
+        return new ArrayList<>(hosts);
+    }
+}
@@ -11,6 +11,7 @@ import android.webkit.WebResourceResponse;
 import android.webkit.WebView;
 import android.webkit.WebViewClient;
 
+import com.example.newsapp.api.HttpClientProvider;
 import com.example.newsapp.data.db.NewsDatabase;
 import com.example.newsapp.data.models.Article;
 
@@ -19,24 +20,23 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
 import java.net.URL;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
+import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 public class OfflineArticleManager {
     private static final String TAG = "OfflineArticleManager";
     private static final String OFFLINE_DIR = "offline_articles";
     private static final String IMAGES_DIR = "article_images";
+    private static final String BROWSER_USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/96.0.4664.110 Safari/537.36";
     
     private final Context context;
     private final Executor executor;
@@ -45,9 +45,10 @@ public class OfflineArticleManager {
     
     public OfflineArticleManager(Context context) {
         this.context = context.getApplicationContext();
-        this.executor = Executors.newSingleThreadExecutor();
+        this.executor = PriorityWorkScheduler.getInstance()
+            .executor(PriorityWorkScheduler.Priority.OFFLINE_DOWNLOAD);
         this.database = NewsDatabase.getInstance(context);
-        this.httpClient = new OkHttpClient.Builder().build();
+        this.httpClient = HttpClientProvider.getSharedClient();
         createOfflineDirectory();
     }
     
@@ -185,62 +186,26 @@ public class OfflineArticleManager {
     }
     
     private String downloadArticleContent(String articleUrl) {
-        HttpURLConnection connection = null;
-        BufferedReader reader = null;
-        StringBuilder content = new StringBuilder();
+        Request request = new Request.Builder()
+            .url(articleUrl)
+            .header("User-Agent", BROWSER_USER_AGENT)
+            .build();
         
-        try {
-            URL url = new URL(articleUrl);
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(30000); // Increased timeout
-            connection.setReadTimeout(30000);    // Increased timeout
-            connection.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/96.0.4664.110 Safari/537.36");
-            connection.setInstanceFollowRedirects(true);
-            connection.connect();
-            
-            // Check if we got redirected
-            if (connection.getResponseCode() == HttpURLConnection.HTTP_MOVED_PERM || 
-                connection.getResponseCode() == HttpURLConnection.HTTP_MOVED_TEMP) {
-                String newUrl = connection.getHeaderField("Location");
-                connection.disconnect();
-                
-                // Create a new connection to the redirect location
-                connection = (HttpURLConnection) new URL(newUrl).openConnection();
-                connection.setRequestMethod("GET");
-                connection.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/96.0.4664.110 Safari/537.36");
-                connection.connect();
-            }
-            
-            if (connection.getResponseCode() == HttpURLConnection.HTTP_OK) {
-                reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    content.append(line).append("\n");
-                }
-                
-                String htmlContent = content.toString();
+        // Redirects are followed by the shared client
+        try (Response response = httpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (response.isSuccessful() && body != null) {
+                String htmlContent = body.string();
                 Log.d(TAG, "Downloaded HTML size: " + htmlContent.length() + " bytes");
                 
                 return extractMainContent(htmlContent);
             } else {
-                Log.e(TAG, "Error downloading article: HTTP " + connection.getResponseCode());
+                Log.e(TAG, "Error downloading article: HTTP " + response.code());
                 return null;
             }
         } catch (Exception e) {
             Log.e(TAG, "Error downloading article content", e);
             return null;
-        } finally {
-            if (connection != null) {
-                connection.disconnect();
-            }
-            if (reader != null) {
-                try {
-                    reader.close();
-                } catch (IOException e) {
-                    Log.e(TAG, "Error closing reader", e);
-                }
-            }
         }
     }
     
@@ -439,20 +404,25 @@ public class OfflineArticleManager {
                 // For images, try to load them even in offline mode
                 if (mimeType != null && mimeType.startsWith("image/")) {
                     try {
-                        // Try to download the image for offline use
-                        URL imageUrl = new URL(url);
-                        HttpURLConnection connection = (HttpURLConnection) imageUrl.openConnection();
-                        connection.setRequestProperty("User-Agent", "Mozilla/5.0");
-                        connection.connect();
+                        // Try to download the image through the shared client so it reuses
+                        // connections already open to the same host
+                        Request imageRequest = new Request.Builder()
+                            .url(url)
+                            .header("User-Agent", "Mozilla/5.0")
+                            .build();
+                        Response response = httpClient.newCall(imageRequest).execute();
+                        ResponseBody body = response.body();
                         
-                        if (connection.getResponseCode() == HttpURLConnection.HTTP_OK) {
-                            InputStream inputStream = connection.getInputStream();
+                        if (response.isSuccessful() && body != null) {
+                            // The WebView closes the stream, which releases the connection
+                            MediaType contentType = body.contentType();
                             return new WebResourceResponse(
-                                mimeType,
+                                contentType != null ? contentType.type() + "/" + contentType.subtype() : mimeType,
                                 "UTF-8",
-                                inputStream
+                                body.byteStream()
                             );
                         }
+                        response.close();
                     } catch (Exception e) {
                         Log.e(TAG, "Error loading image in offline mode: " + url, e);
                     }
@@ -0,0 +1,228 @@
+package com.example.newsapp.utils;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.newsapp.api.LatencyHistogram;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide scheduler for background work, split by priority class so what
+ * the user is looking at never waits for housekeeping:
+ * <ul>
+ *   <li>INTERACTIVE and VISIBLE_PREFETCH share one serial lane. Interactive tasks
+ *       overtake queued prefetch tasks, and tasks of one class keep their order,
+ *       which the repositories rely on.</li>
+ *   <li>MAINTENANCE runs on a background-priority thread and is deferred while the
+ *       foreground lane has work, up to {@link #MAINTENANCE_MAX_DEFER_MS}.</li>
+ *   <li>OFFLINE_DOWNLOAD has its own small pool so page downloads neither block
+ *       nor are blocked by database work.</li>
+ *   <li>NETWORK_READ has its own small pool for reading response bodies the user
+ *       is waiting for, so a slow network never holds up the serial lane.</li>
+ * </ul>
+ * Each class keeps queue depth and wait time metrics.
+ */
+public class PriorityWorkScheduler {
+    private static final String TAG = "PriorityWorkScheduler";
+    private static final long MAINTENANCE_DEFER_STEP_MS = 100;
+    private static final long MAINTENANCE_MAX_DEFER_MS = 5000;
+    private static final int DOWNLOAD_THREADS = 2;
+    private static final int NETWORK_READ_THREADS = 2;
+
+    public enum Priority {
+        INTERACTIVE,
+        VISIBLE_PREFETCH,
+        MAINTENANCE,
+        OFFLINE_DOWNLOAD,
+        NETWORK_READ
+    }
+
+    private static PriorityWorkScheduler instance;
+
+    private final ThreadPoolExecutor foreground;
+    private final ThreadPoolExecutor maintenance;
+    private final ThreadPoolExecutor downloads;
+    private final ThreadPoolExecutor networkReads;
+    private final ClassStats[] stats = new ClassStats[Priority.values().length];
+    private final AtomicLong sequence = new AtomicLong();
+    // Foreground tasks queued or running, maintenance waits while this is above zero
+    private final AtomicInteger foregroundPending = new AtomicInteger();
+
+    /**
+     * Metrics of one priority class
+     */
+    public static class ClassStats {
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong deferrals = new AtomicLong();
+        private final LatencyHistogram waitTime = new LatencyHistogram();
+
+        public int getQueueDepth() {
+            return queued.get();
+        }
+
+        public int getRunning() {
+            return running.get();
+        }
+
+        public long getCompleted() {
+            return completed.get();
+        }
+
+        /**
+         * How often a task was held back for foreground work
+         */
+        public long getDeferrals() {
+            return deferrals.get();
+        }
+
+        /**
+         * Time from submission until the task started
+         */
+        public LatencyHistogram getWaitTime() {
+            return waitTime;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "queued=%d running=%d done=%d deferred=%d wait %s",
+                queued.get(), running.get(), completed.get(), deferrals.get(), waitTime);
+        }
+    }
+
+    private final class Task implements Runnable, Comparable<Task> {
+        final Priority priority;
+        final long order = sequence.getAndIncrement();
+        final long submittedAt = SystemClock.elapsedRealtime();
+        final Runnable work;
+
+        Task(Priority priority, Runnable work) {
+            this.priority = priority;
+            this.work = work;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+
+        @Override
+        public void run() {
+            ClassStats classStats = stats[priority.ordinal()];
+            if (priority == Priority.MAINTENANCE) {
+                deferWhileForegroundBusy(classStats);
+            }
+            classStats.queued.decrementAndGet();
+            classStats.waitTime.record(SystemClock.elapsedRealtime() - submittedAt);
+            classStats.running.incrementAndGet();
+            try {
+                work.run();
+            } catch (RuntimeException e) {
+                // Keeps the lane's thread alive for the tasks behind this one
+                Log.e(TAG, "Uncaught error in " + priority + " task", e);
+            } finally {
+                classStats.running.decrementAndGet();
+                classStats.completed.incrementAndGet();
+                if (isForeground(priority)) {
+                    foregroundPending.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    public static synchronized PriorityWorkScheduler getInstance() {
+        if (instance == null) {
+            instance = new PriorityWorkScheduler();
+        }
+        return instance;
+    }
+
+    private PriorityWorkScheduler() {
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new ClassStats();
+        }
+        foreground = newLane("work-foreground", 1, Process.THREAD_PRIORITY_DEFAULT);
+        maintenance = newLane("work-maintenance", 1, Process.THREAD_PRIORITY_BACKGROUND);
+        downloads = newLane("work-download", DOWNLOAD_THREADS, Process.THREAD_PRIORITY_BACKGROUND);
+        networkReads = newLane("work-network", NETWORK_READ_THREADS, Process.THREAD_PRIORITY_DEFAULT);
+    }
+
+    private static ThreadPoolExecutor newLane(String name, int threads, int threadPriority) {
+        AtomicInteger count = new AtomicInteger();
+        // Lanes must only receive Task instances through execute(), the queue orders them
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>(), runnable -> new Thread(() -> {
+                Process.setThreadPriority(threadPriority);
+                runnable.run();
+            }, name + "-" + count.incrementAndGet()));
+    }
+
+    public void execute(Priority priority, Runnable work) {
+        Task task = new Task(priority, work);
+        stats[priority.ordinal()].queued.incrementAndGet();
+        if (isForeground(priority)) {
+            foregroundPending.incrementAndGet();
+        }
+        laneFor(priority).execute(task);
+    }
+
+    /**
+     * An executor that submits to the given class, for code written against Executor
+     */
+    public Executor executor(Priority priority) {
+        return work -> execute(priority, work);
+    }
+
+    public ClassStats getStats(Priority priority) {
+        return stats[priority.ordinal()];
+    }
+
+    private void deferWhileForegroundBusy(ClassStats classStats) {
+        long waited = 0;
+        while (foregroundPending.get() > 0 && waited < MAINTENANCE_MAX_DEFER_MS) {
+            if (waited == 0) {
+                classStats.deferrals.incrementAndGet();
+            }
+            SystemClock.sleep(MAINTENANCE_DEFER_STEP_MS);
+            waited += MAINTENANCE_DEFER_STEP_MS;
+        }
+    }
+
+    private ThreadPoolExecutor laneFor(Priority priority) {
+        switch (priority) {
+            case MAINTENANCE:
+                return maintenance;
+            case OFFLINE_DOWNLOAD:
+                return downloads;
+            case NETWORK_READ:
+                return networkReads;
+            default:
+                return foreground;
+        }
+    }
+
+    private static boolean isForeground(Priority priority) {
+        return priority == Priority.INTERACTIVE || priority == Priority.VISIBLE_PREFETCH;
+    }
+
+    /**
+     * One line per priority class, for the debug screen
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        for (Priority priority : Priority.values()) {
+            sb.append(priority).append(": ").append(stats[priority.ordinal()]).append('\n');
+        }
+        return sb.toString();
+    }
+}
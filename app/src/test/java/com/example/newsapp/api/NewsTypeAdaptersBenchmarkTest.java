@@ -0,0 +1,96 @@
+package com.example.newsapp.api;
+
+import com.example.newsapp.data.models.NewsResponse;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Compares the parse time of the streaming adapters with the reflective Gson path.
+ * Opt-in, as timing loops are too slow and noisy for every build:
+ * {@code ./gradlew testDebugUnitTest -Pbenchmarks}
+ */
+public class NewsTypeAdaptersBenchmarkTest {
+    private static final int ARTICLES = 10;
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+    private static final int FRESH_GSON_ITERATIONS = 1_000;
+    // Once both are warm the two are about even; fail only if the adapters fall far behind
+    private static final double MIN_WARM_SPEEDUP = 0.5;
+    // A cold start is where they pay off, reflection first has to scan the models
+    private static final double MIN_FRESH_GSON_SPEEDUP = 2.0;
+
+    private final Gson reflectiveGson = new Gson();
+    private final Gson streamingGson = NewsTypeAdapters.register(new GsonBuilder()).create();
+
+    @Before
+    public void requireOptIn() {
+        assumeTrue("Benchmarks run with -Pbenchmarks", Boolean.getBoolean("newsapp.benchmarks"));
+    }
+
+    @Test
+    public void benchmark_parseFeedResponse() {
+        String json = NewsTypeAdaptersTest.buildPayload(ARTICLES);
+
+        long reflectiveNanos = time(reflectiveGson, json);
+        long streamingNanos = time(streamingGson, json);
+
+        double speedup = (double) reflectiveNanos / streamingNanos;
+        String report = String.format(Locale.US,
+            "Parse %d-article response: reflective %.1f us/op, streaming %.1f us/op (%.2fx)",
+            ARTICLES,
+            reflectiveNanos / 1000.0 / MEASURED_ITERATIONS,
+            streamingNanos / 1000.0 / MEASURED_ITERATIONS,
+            speedup);
+        System.out.println(report);
+        assertTrue(report, speedup >= MIN_WARM_SPEEDUP);
+    }
+
+    @Test
+    public void benchmark_firstParseWithFreshGson() {
+        String json = NewsTypeAdaptersTest.buildPayload(ARTICLES);
+
+        long reflectiveNanos = 0;
+        long streamingNanos = 0;
+        for (int i = 0; i < FRESH_GSON_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            new Gson().fromJson(json, NewsResponse.class);
+            reflectiveNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            NewsTypeAdapters.register(new GsonBuilder()).create().fromJson(json, NewsResponse.class);
+            streamingNanos += System.nanoTime() - start;
+        }
+
+        double speedup = (double) reflectiveNanos / streamingNanos;
+        String report = String.format(Locale.US,
+            "First parse with a fresh Gson: reflective %.1f us/op, streaming %.1f us/op (%.2fx)",
+            reflectiveNanos / 1000.0 / FRESH_GSON_ITERATIONS,
+            streamingNanos / 1000.0 / FRESH_GSON_ITERATIONS,
+            speedup);
+        System.out.println(report);
+        assertTrue(report, speedup >= MIN_FRESH_GSON_SPEEDUP);
+    }
+
+    private static long time(Gson gson, String json) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += gson.fromJson(json, NewsResponse.class).getArticles().size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += gson.fromJson(json, NewsResponse.class).getArticles().size();
+        }
+        long elapsed = System.nanoTime() - start;
+        // Keeps the parsing from being optimized away
+        assertTrue(sink > 0);
+        return elapsed;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.newsapp.api;
+
+import com.example.newsapp.data.models.Article;
+import com.example.newsapp.data.models.NewsResponse;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the streaming adapters parse GNews payloads like the reflective Gson
+ * path did.
+ */
+public class NewsTypeAdaptersTest {
+    private static final int ARTICLES = 10;
+
+    private final Gson reflectiveGson = new Gson();
+    private final Gson streamingGson = NewsTypeAdapters.register(new GsonBuilder()).create();
+
+    @Test
+    public void streamingAdapters_matchReflectiveParsing() {
+        String json = buildPayload(ARTICLES);
+
+        NewsResponse expected = reflectiveGson.fromJson(json, NewsResponse.class);
+        NewsResponse actual = streamingGson.fromJson(json, NewsResponse.class);
+
+        assertEquals(ARTICLES, actual.getArticles().size());
+        assertEquals(ARTICLES, actual.getTotalResults()); // read from GNews' totalArticles
+        for (int i = 0; i < ARTICLES; i++) {
+            Article e = expected.getArticles().get(i);
+            Article a = actual.getArticles().get(i);
+            assertEquals(e.getTitle(), a.getTitle());
+            assertEquals(e.getDescription(), a.getDescription());
+            assertEquals(e.getContent(), a.getContent());
+            assertEquals(e.getUrl(), a.getUrl());
+            assertEquals(e.getUrlToImage(), a.getUrlToImage());
+            assertEquals(e.getPublishedAt(), a.getPublishedAt());
+            assertEquals(e.getSource().getName(), a.getSource().getName());
+            assertEquals(e.getSource().getUrl(), a.getSource().getUrl());
+        }
+    }
+
+    @Test
+    public void streamingAdapters_roundTrip() {
+        NewsResponse parsed = streamingGson.fromJson(buildPayload(3), NewsResponse.class);
+        NewsResponse again = streamingGson.fromJson(streamingGson.toJson(parsed), NewsResponse.class);
+
+        assertEquals(3, again.getArticles().size());
+        assertEquals(parsed.getArticles().get(2).getUrlToImage(), again.getArticles().get(2).getUrlToImage());
+        assertEquals(parsed.getArticles().get(1).getSource().getName(), again.getArticles().get(1).getSource().getName());
+    }
+
+    @Test
+    public void streamingAdapters_handleNullsAndMissingFields() {
+        String json = "{\"articles\":[{\"title\":null,\"url\":null,\"source\":null},{}],\"extra\":[1,{\"a\":2}]}";
+
+        NewsResponse response = streamingGson.fromJson(json, NewsResponse.class);
+
+        assertEquals(2, response.getArticles().size());
+        assertNull(response.getArticles().get(0).getTitle());
+        assertEquals("", response.getArticles().get(0).getUrl());
+        assertNull(response.getArticles().get(0).getSource());
+    }
+
+    /**
+     * A response shaped like GNews', including fields the models do not map
+     */
+    static String buildPayload(int articles) {
+        StringBuilder json = new StringBuilder("{\"totalArticles\":").append(articles).append(",\"articles\":[");
+        for (int i = 0; i < articles; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"a").append(i).append("\",")
+                .append("\"title\":\"Headline number ").append(i).append(" about markets and \\\"quotes\\\"\",")
+                .append("\"description\":\"A short description of the story that runs to a sentence or two.\",")
+                .append("\"content\":\"The first paragraphs of the article body, truncated by the API... [1234 chars]\",")
+                .append("\"url\":\"https://news.example.com/2024/05/01/story-").append(i).append("\",")
+                .append("\"image\":\"https://cdn.example.com/images/").append(i).append(".jpg\",")
+                .append("\"publishedAt\":\"2024-05-01T08:").append(String.format(Locale.US, "%02d", i % 60)).append(":00Z\",")
+                .append("\"lang\":\"en\",")
+                .append("\"source\":{\"id\":\"src\",\"name\":\"Example News\",\"url\":\"https://news.example.com\",\"country\":\"us\"}}");
+        }
+        return json.append("],\"information\":{\"realTimeArticles\":{\"message\":\"delayed\"}}}").toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.newsapp.data.repository;
+
+import com.example.newsapp.data.models.Article;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks how the needs of a category are sized into calls and split between them
+ */
+public class FeedRequestPlannerTest {
+
+    @Test
+    public void totalResults_addsUpEveryNeed() {
+        List<FeedRequestPlanner.FeedNeed> needs = Arrays.asList(need(true, 5), need(false, 10));
+
+        assertEquals(15, FeedRequestPlanner.totalResults(needs));
+        assertEquals(0, FeedRequestPlanner.totalResults(new ArrayList<>()));
+    }
+
+    @Test
+    public void resultsPerCall_isCappedByThePlan() {
+        assertEquals(5, FeedRequestPlanner.resultsPerCall(5));
+        assertEquals(FeedRequestPlanner.MAX_RESULTS_PER_CALL, FeedRequestPlanner.resultsPerCall(15));
+    }
+
+    @Test
+    public void pagesNeeded_coversNeedsBeyondOneCall() {
+        assertEquals(1, FeedRequestPlanner.pagesNeeded(Arrays.asList(need(true, 5), need(false, 5))));
+        assertEquals(2, FeedRequestPlanner.pagesNeeded(Arrays.asList(need(true, 5), need(false, 10))));
+        assertEquals(3, FeedRequestPlanner.pagesNeeded(Arrays.asList(need(false, 25))));
+        assertEquals(0, FeedRequestPlanner.pagesNeeded(new ArrayList<>()));
+    }
+
+    @Test
+    public void split_givesEachNeedConsecutiveArticles() {
+        List<FeedRequestPlanner.FeedNeed> needs = Arrays.asList(need(true, 5), need(false, 10));
+
+        List<List<Article>> slices = FeedRequestPlanner.split(articles(20), needs);
+
+        assertEquals(2, slices.size());
+        assertEquals(urls(0, 5), urlsOf(slices.get(0)));
+        assertEquals(urls(5, 15), urlsOf(slices.get(1)));
+    }
+
+    @Test
+    public void split_shortResponseShortensLaterNeeds() {
+        List<FeedRequestPlanner.FeedNeed> needs = Arrays.asList(need(true, 5), need(false, 10));
+
+        List<List<Article>> slices = FeedRequestPlanner.split(articles(7), needs);
+        assertEquals(urls(0, 5), urlsOf(slices.get(0)));
+        assertEquals(urls(5, 7), urlsOf(slices.get(1)));
+
+        slices = FeedRequestPlanner.split(articles(3), needs);
+        assertEquals(urls(0, 3), urlsOf(slices.get(0)));
+        assertTrue(slices.get(1).isEmpty());
+    }
+
+    private static FeedRequestPlanner.FeedNeed need(boolean isFeatured, int maxResults) {
+        return new FeedRequestPlanner.FeedNeed(isFeatured, maxResults, false, null);
+    }
+
+    private static List<Article> articles(int count) {
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Article article = new Article();
+            article.setUrl("https://news.example.com/" + i);
+            articles.add(article);
+        }
+        return articles;
+    }
+
+    private static List<String> urls(int from, int to) {
+        List<String> urls = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            urls.add("https://news.example.com/" + i);
+        }
+        return urls;
+    }
+
+    private static List<String> urlsOf(List<Article> articles) {
+        List<String> urls = new ArrayList<>();
+        for (Article article : articles) {
+            urls.add(article.getUrl());
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.newsapp.data.repository;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks how typed text becomes an FTS query and how matchinfo('pcx') blobs are scored
+ */
+public class LocalArticleSearchTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void toMatchQuery_prefixesEveryWord() {
+        assertEquals("climate* talks*", LocalArticleSearch.toMatchQuery("Climate talks"));
+        assertEquals("\u00fcn\u00efcode* 2024*", LocalArticleSearch.toMatchQuery("  \u00dcn\u00efcode   2024 "));
+    }
+
+    @Test
+    public void toMatchQuery_dropsQuerySyntax() {
+        // Lowercased, so OR and NEAR are plain words to FTS
+        assertEquals("foo* or* bar* baz*", LocalArticleSearch.toMatchQuery("\"foo\" OR bar-baz*"));
+        assertNull(LocalArticleSearch.toMatchQuery(" -*\"() "));
+        assertNull(LocalArticleSearch.toMatchQuery(""));
+    }
+
+    @Test
+    public void score_weighsColumnsByShareOfHits() {
+        // One word: 1 of 2 title hits, no description hits, 2 of 4 content hits
+        byte[] info = matchInfo(1, 3,
+            1, 2, 1,
+            0, 3, 2,
+            2, 4, 3);
+
+        assertEquals(4.0 * 1 / 2 + 1.0 * 2 / 4, LocalArticleSearch.score(info), DELTA);
+    }
+
+    @Test
+    public void score_addsUpEveryWord() {
+        byte[] info = matchInfo(2, 3,
+            1, 1, 1, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 1, 2, 1, 0, 0, 0);
+
+        assertEquals(4.0 + 2.0 / 2, LocalArticleSearch.score(info), DELTA);
+    }
+
+    @Test
+    public void score_ranksTitleHitsAboveContentHits() {
+        byte[] inTitle = matchInfo(1, 3, 1, 1, 1, 0, 0, 0, 0, 0, 0);
+        byte[] inContent = matchInfo(1, 3, 0, 0, 0, 0, 0, 0, 1, 1, 1);
+
+        assertTrue(LocalArticleSearch.score(inTitle) > LocalArticleSearch.score(inContent));
+    }
+
+    @Test
+    public void score_toleratesMissingOrShortBlobs() {
+        assertEquals(0, LocalArticleSearch.score(null), DELTA);
+        assertEquals(0, LocalArticleSearch.score(new byte[4]), DELTA);
+        // Header promises more phrases than the blob holds
+        assertEquals(4.0, LocalArticleSearch.score(matchInfo(5, 3, 1, 1, 1)), DELTA);
+    }
+
+    /**
+     * A matchinfo('pcx') blob: phrase count, column count, then hits in this row,
+     * hits in all rows and rows with hits for each phrase and column, as native ints
+     */
+    private static byte[] matchInfo(int phrases, int columns, int... hits) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * (2 + hits.length)).order(ByteOrder.nativeOrder());
+        buffer.putInt(phrases).putInt(columns);
+        for (int value : hits) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+}